@@ -1,13 +1,20 @@
 package controller;
 
 import java.awt.*;
-import java.text.SimpleDateFormat;
+import java.io.IOException;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
+import model.QueueListener;
 import model.Reservation;
+import model.ReservationStatus;
 import model.Transaction;
+import storage.JournalException;
+import view.EdtQueueListener;
 import view.LogsPanelView;
 import view.QueueStatusView;
 import view.ReservationQueuePanelView;
@@ -37,7 +44,6 @@ public class FlowDesk extends JFrame {
     // Notification bar
     private JPanel notificationBar;
     private JLabel notificationLabel;
-    private javax.swing.Timer notificationTimer;
     
     // Bottom tabs
     private JButton recentTransactionsBtn;
@@ -45,18 +51,17 @@ public class FlowDesk extends JFrame {
     private TransactionsPanelView transactionsPanelView;
     private LogsPanelView logsPanelView;
     
-    // Data - Using Queue for FIFO principle
-    private Queue<Reservation> reservationQueue;
-    private List<Reservation> approvedReservations;
-    private List<Transaction> transactions;
-    private List<String> systemLogs;
+    // Data - queue, ledger, logs and seats live in the headless engine
+    private final FlowDeskEngine engine;
+    // Ledger and log entries made by this desk, appended in the order they were made
+    private final Executor activityRecorder;
     private String currentUserName;
     private String currentContactNumber;
     private int currentAge;
-    private int nextQueueNumber;
     private boolean isStaffMode;
     private boolean isStaffLoggedIn;
     private static final String STAFF_PASSWORD = "staff123"; // Default password for demo
+    private static final int TRANSACTION_PAGE_SIZE = 50;
     
     // Colors
     private final Color DARK_BG = new Color(5, 5, 10);
@@ -68,20 +73,18 @@ public class FlowDesk extends JFrame {
     private final Color TEXT_SECONDARY = new Color(180, 180, 180);
     
     public FlowDesk() {
-        reservationQueue = new LinkedList<>();
-        approvedReservations = new ArrayList<>();
-        transactions = new ArrayList<>();
-        systemLogs = new ArrayList<>();
-        nextQueueNumber = 1;
+        this(createDemoEngine());
+    }
+    
+    public FlowDesk(FlowDeskEngine engine) {
+        this.engine = engine;
+        this.activityRecorder = engine.getTaskExecutor().serial();
         isStaffMode = false;
         isStaffLoggedIn = false;
         currentUserName = "";
         currentContactNumber = "";
         currentAge = 0;
         
-        // Initialize sample data
-        initializeSampleData();
-        
         setTitle("FlowDesk");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setSize(1200, 800);
@@ -92,9 +95,12 @@ public class FlowDesk extends JFrame {
         mainPanel.setBorder(new EmptyBorder(20, 20, 20, 20));
         
         createNotificationBar();
+        registerQueueNotifications();
+        registerStaffPanelUpdates();
         createHeader();
         createContentArea();
         createBottomPanel();
+        registerActivityUpdates();
         
         // Fix layout - notification bar should be at top, header below it
         JPanel topPanel = new JPanel(new BorderLayout());
@@ -112,50 +118,50 @@ public class FlowDesk extends JFrame {
         showUserInformation();
     }
     
-    private void initializeSampleData() {
-        String[][] demoReservations = {
-            {"Crishine Bangay", "09171234567", "21", "A-201", "10:00 - 12:00"},
-            {"Evangeline Herondio", "09183456721", "22", "A-102", "14:00 - 16:00"},
-            {"Nudo Christine", "09224567891", "24", "B-101", "13:00 - 15:00"},
-            {"Roldan Torrejas", "09335678912", "23", "B-202", "09:00 - 11:00"},
-            {"Ryan Ligasan", "09451234567", "27", "C-105", "08:00 - 10:00"}
-        };
-        
-        for (String[] demo : demoReservations) {
-            Reservation reservation = new Reservation(
-                demo[0],
-                demo[1],
-                Integer.parseInt(demo[2]),
-                demo[3],
-                demo[4],
-                nextQueueNumber++
-            );
-            reservationQueue.offer(reservation);
-            addTransaction(reservation.getName(), "Joined queue for " + reservation.getRoom() + " at " + reservation.getTimeSlot());
-            addSystemLog("ENQUEUE: Demo user " + reservation.getName() + " added to queue (Q-" + reservation.getQueueNumber() + ") for " + reservation.getRoom());
+    private static FlowDeskEngine createDemoEngine() {
+        FlowDeskEngine engine;
+        try {
+            engine = FlowDeskEngine.openJournaled(FlowDeskEngine.defaultDataDirectory());
+        } catch (IOException e) {
+            // Keep the desk usable without persistence rather than refusing to start
+            e.printStackTrace();
+            engine = new FlowDeskEngine();
+            engine.loadDemoData();
         }
-        
-        addSystemLog("System initialized - Queue preloaded with demo reservations");
-        addSystemLog("Queue operations: Enqueue (add to rear), Dequeue (remove from front)");
+        engine.shutdownOnExit();
+        return engine;
     }
     
+    // Both append to the journal, so like the queue operations they stay off the EDT
     private void addTransaction(String userName, String description) {
-        SimpleDateFormat dateFormat = new SimpleDateFormat("MM/dd/yyyy");
-        SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss");
-        String date = dateFormat.format(new Date());
-        String time = timeFormat.format(new Date());
-        String id = "T" + String.format("%03d", transactions.size() + 1);
-        transactions.add(0, new Transaction(id, userName, description, date, time));
+        activityRecorder.execute(() -> engine.recordTransaction(userName, description));
     }
     
     private void addSystemLog(String message) {
-        SimpleDateFormat dateFormat = new SimpleDateFormat("MM/dd/yyyy HH:mm:ss");
-        String timestamp = dateFormat.format(new Date());
-        systemLogs.add(0, "[" + timestamp + "] " + message);
-        // Keep only last 100 logs
-        if (systemLogs.size() > 100) {
-            systemLogs.remove(systemLogs.size() - 1);
-        }
+        activityRecorder.execute(() -> engine.log(message));
+    }
+    
+    private void registerActivityUpdates() {
+        // Activity is published on the engine's background lane; the panels are refreshed on the EDT
+        engine.addActivityListener(new FlowDeskEngine.ActivityListener() {
+            @Override
+            public void transactionRecorded(Transaction transaction) {
+                SwingUtilities.invokeLater(transactionsPanelView::refresh);
+            }
+            
+            @Override
+            public void logAppended(String message) {
+                SwingUtilities.invokeLater(logsPanelView::logsChanged);
+            }
+            
+            @Override
+            public void operationFailed(String operation, Throwable failure) {
+                SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(FlowDesk.this,
+                    operation + " failed: " + failure.getMessage(),
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE));
+            }
+        });
     }
     
     private void createNotificationBar() {
@@ -188,28 +194,68 @@ public class FlowDesk extends JFrame {
         
         notificationBar.add(notificationLabel, BorderLayout.CENTER);
         notificationBar.add(closeBtn, BorderLayout.EAST);
-        
-        // Create timer to check queue position every 2 seconds
-        notificationTimer = new javax.swing.Timer(2000, e -> updateNotificationBar());
-        notificationTimer.start();
+    }
+    
+    private void registerQueueNotifications() {
+        // Only the head of the queue gets "your turn", so recompute the notification
+        // when the head changes or when the current user's own entry is added/removed
+        engine.getQueue().addQueueListener(new EdtQueueListener(new QueueListener() {
+            @Override
+            public void reservationAdded(Reservation reservation, int position) {
+                if (isCurrentUser(reservation)) {
+                    updateNotificationBar();
+                }
+            }
+            
+            @Override
+            public void reservationRemoved(Reservation reservation, int position) {
+                if (isCurrentUser(reservation)) {
+                    updateNotificationBar();
+                }
+            }
+            
+            @Override
+            public void headChanged(Reservation newHead) {
+                if (notificationBar.isVisible() || isCurrentUser(newHead)) {
+                    updateNotificationBar();
+                }
+            }
+        }));
+    }
+    
+    private void registerStaffPanelUpdates() {
+        // Keep the staff list in sync one row at a time instead of re-filtering the whole queue
+        engine.getQueue().addQueueListener(new EdtQueueListener(new QueueListener() {
+            @Override
+            public void reservationAdded(Reservation reservation, int position) {
+                StaffPanelView staffPanel = currentStaffPanel();
+                if (staffPanel != null) {
+                    staffPanel.addReservation(reservation);
+                }
+            }
+            
+            @Override
+            public void reservationRemoved(Reservation reservation, int position) {
+                StaffPanelView staffPanel = currentStaffPanel();
+                if (staffPanel != null) {
+                    staffPanel.removeReservation(reservation);
+                }
+            }
+        }));
+    }
+    
+    private boolean isCurrentUser(Reservation reservation) {
+        return reservation != null && reservation.getName() != null
+            && currentUserName != null && !currentUserName.isEmpty()
+            && reservation.getName().trim().equals(currentUserName.trim());
     }
     
     private void updateNotificationBar() {
-        if (currentUserName == null || currentUserName.isEmpty()) {
-            notificationBar.setVisible(false);
-            return;
-        }
-        
+        boolean wasVisible = notificationBar.isVisible();
         Reservation userReservation = findUserReservation();
-        if (userReservation == null) {
-            notificationBar.setVisible(false);
-            return;
-        }
         
-        int position = getQueuePosition(userReservation);
-        boolean isFirst = position == 0;
-        
-        if (isFirst && userReservation.getStatus().equals("WAITING")) {
+        if (userReservation != null && getQueuePosition(userReservation) == 0
+                && userReservation.getStatus() == ReservationStatus.WAITING) {
             notificationLabel.setText("🔔 IT'S YOUR TURN NOW! Please proceed to " + userReservation.getRoom() + " at " + userReservation.getTimeSlot());
             notificationBar.setBackground(new Color(76, 175, 80)); // Green for your turn
             notificationBar.setVisible(true);
@@ -217,8 +263,8 @@ public class FlowDesk extends JFrame {
             notificationBar.setVisible(false);
         }
         
-        // Force repaint if notification bar visibility changed
-        if (notificationBar.isVisible()) {
+        // Only relayout when the bar actually appeared or disappeared
+        if (wasVisible != notificationBar.isVisible()) {
             mainPanel.revalidate();
             mainPanel.repaint();
         }
@@ -307,7 +353,7 @@ public class FlowDesk extends JFrame {
         reservationQueuePanelView = new ReservationQueuePanelView(
             PANEL_BG, INPUT_BG, ACCENT_BLUE, TEXT_COLOR, TEXT_SECONDARY,
             this::updateReservationQueuePanelView,
-            new ArrayList<>(reservationQueue)
+            engine.getQueue()
         );
         
         JPanel centerPanel = new JPanel(new BorderLayout(20, 0));
@@ -319,8 +365,6 @@ public class FlowDesk extends JFrame {
         
         contentPanel.revalidate();
         contentPanel.repaint();
-        
-        SwingUtilities.invokeLater(this::updateReservationQueuePanelView);
     }
     
     private void showQueueStatus() {
@@ -352,23 +396,13 @@ public class FlowDesk extends JFrame {
             return null;
         }
         
-        // Search through the queue for matching name (case-sensitive exact match)
-        for (Reservation r : reservationQueue) {
-            if (r != null && r.getName() != null && r.getName().trim().equals(currentUserName.trim())) {
-                return r;
-            }
-        }
-        return null;
+        // Name index lookup (case-sensitive exact match on trimmed name)
+        return engine.getQueue().findByName(currentUserName);
     }
     
     private int getQueuePosition(Reservation reservation) {
-        int position = 0;
-        for (Reservation r : reservationQueue) {
-            if (r.getQueueNumber() < reservation.getQueueNumber() && r.getStatus().equals("WAITING")) {
-                position++;
-            }
-        }
-        return position;
+        // Rank index: number of waiting entries with a smaller queue number
+        return engine.positionOf(reservation);
     }
     
     private String getOrdinalSuffix(int number) {
@@ -397,20 +431,36 @@ public class FlowDesk extends JFrame {
             JOptionPane.YES_NO_OPTION);
         
         if (confirm == JOptionPane.YES_OPTION) {
-            reservationQueue.remove(userReservation);
-            addTransaction(currentUserName, "Cancelled reservation for " + userReservation.getRoom());
-            addSystemLog("REMOVE: " + currentUserName + " cancelled their reservation (Q-" + userReservation.getQueueNumber() + ")");
-            
-        SwingUtilities.invokeLater(() -> {
-            updateReservationQueuePanel();
-            refreshLogsView();
-            updateNotificationBar(); // Update notification bar
-            showQueueStatus(); // Refresh view
-        });
-            JOptionPane.showMessageDialog(this, "Reservation cancelled successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+            runInBackground(() -> engine.cancel(userReservation), cancelled -> {
+                if (!cancelled) {
+                    // Served or removed by a staff desk while the dialog was open
+                    JOptionPane.showMessageDialog(this, "Your reservation is no longer in the queue.", "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                showQueueStatus(); // Refresh view
+                JOptionPane.showMessageDialog(this, "Reservation cancelled successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+            });
         }
     }
     
+    // Engine operations may block on persistence, so they run on the engine's task
+    // executor and report back on the EDT; the UI thread never waits on I/O
+    private <T> void runInBackground(Callable<T> work, Consumer<T> onDone) {
+        runInBackground(work, onDone, this::showBackgroundFailure);
+    }
+    
+    private <T> void runInBackground(Callable<T> work, Consumer<T> onDone, Consumer<Throwable> onFailure) {
+        engine.getTaskExecutor().submit(work, SwingUtilities::invokeLater, onDone, onFailure);
+    }
+    
+    private void showBackgroundFailure(Throwable failure) {
+        failure.printStackTrace();
+        JOptionPane.showMessageDialog(this, 
+            "The operation could not be completed: " + failure.getMessage(), 
+            "Error", 
+            JOptionPane.ERROR_MESSAGE);
+    }
+    
     
     private void showSearchReserve() {
         setNavButtonUnselected(userInfoBtn);
@@ -428,6 +478,7 @@ public class FlowDesk extends JFrame {
             SELECTED_BLUE,
             TEXT_COLOR,
             TEXT_SECONDARY,
+            engine.getSeatInventory(),
             this::joinQueue
         );
         searchReservePanel.setPreferredSize(new Dimension(1000, Integer.MAX_VALUE));
@@ -440,7 +491,6 @@ public class FlowDesk extends JFrame {
     
     public void joinQueue(String[] seatInfo) {
         String roomCode = seatInfo[0];
-        String building = seatInfo[1];
         String timeSlot = seatInfo[2];
         if (currentUserName.isEmpty() || currentContactNumber.isEmpty()) {
             JOptionPane.showMessageDialog(this, 
@@ -451,53 +501,33 @@ public class FlowDesk extends JFrame {
         }
         
         // Check if user is already in queue
-        for (Reservation r : reservationQueue) {
-            if (r != null && r.getName() != null && currentUserName != null) {
-                if (r.getName().trim().equals(currentUserName.trim()) && r.getStatus().equals("WAITING")) {
-                    JOptionPane.showMessageDialog(this, 
-                        "You are already in the queue! Check 'My Queue Status' for details.", 
-                        "Already in Queue", 
-                        JOptionPane.INFORMATION_MESSAGE);
-                    return;
-                }
-            }
+        if (engine.findWaiting(currentUserName) != null) {
+            showAlreadyInQueue();
+            return;
         }
         
-        // Create new reservation and add to queue (FIFO)
-        Reservation newReservation = new Reservation(
-            currentUserName,
-            currentContactNumber,
-            currentAge,
-            roomCode,
-            timeSlot,
-            nextQueueNumber++
-        );
-        
-        reservationQueue.offer(newReservation);
-        
-        // Check if seats are available before decreasing
-        boolean hasAvailableSeats = false;
-        if (searchReservePanel != null) {
-            hasAvailableSeats = searchReservePanel.hasAvailableSeats(roomCode, timeSlot);
-            // Only decrease availability if seats are available
-            if (hasAvailableSeats) {
-                searchReservePanel.decreaseSeatAvailability(roomCode, timeSlot);
-            }
+        String name = currentUserName;
+        String contact = currentContactNumber;
+        int age = currentAge;
+        runInBackground(() -> engine.enqueue(name, contact, age, roomCode, timeSlot),
+            result -> showJoinResult(result, roomCode, timeSlot),
+            failure -> {
+                if (failure instanceof IllegalStateException && !(failure instanceof JournalException)) {
+                    // Joined from another terminal in the meantime
+                    showAlreadyInQueue();
+                } else {
+                    showBackgroundFailure(failure);
+                }
+            });
+    }
+    
+    private void showJoinResult(FlowDeskEngine.JoinResult result, String roomCode, String timeSlot) {
+        Reservation newReservation = result.reservation();
+        boolean hasAvailableSeats = result.seatReserved();
+        if (hasAvailableSeats && searchReservePanel != null) {
+            searchReservePanel.refreshSeats();
         }
         
-        // Verify reservation was added
-        System.out.println("DEBUG: Added reservation for " + currentUserName + " (Q-" + newReservation.getQueueNumber() + ")");
-        System.out.println("DEBUG: Queue size is now: " + reservationQueue.size());
-        
-        String transactionDesc = hasAvailableSeats 
-            ? "Reserved seat for " + roomCode + " (" + building + ") at " + timeSlot
-            : "Joined waiting queue for " + roomCode + " (" + building + ") at " + timeSlot + " (Room is full)";
-        addTransaction(currentUserName, transactionDesc);
-        addSystemLog("ENQUEUE: " + currentUserName + " joined the queue (Q-" + newReservation.getQueueNumber() + ") for " + roomCode + " - Added to REAR" + (hasAvailableSeats ? "" : " (Waiting - room full)"));
-        
-        // Update logs immediately
-        refreshLogsView();
-        
         // Show success message with option to view queue
         String message = hasAvailableSeats
             ? "Successfully reserved a seat!\n\nQueue Number: Q-" + newReservation.getQueueNumber() + 
@@ -521,15 +551,16 @@ public class FlowDesk extends JFrame {
         if (option == 0) {
             // Navigate to User Information which will show the queue
             showUserInformation();
-        } else {
-            // Still try to update the queue panel if it exists
-        SwingUtilities.invokeLater(() -> {
-            updateReservationQueuePanelView();
-            updateNotificationBar(); // Update notification bar when queue changes
-        });
         }
     }
     
+    private void showAlreadyInQueue() {
+        JOptionPane.showMessageDialog(this, 
+            "You are already in the queue! Check 'My Queue Status' for details.", 
+            "Already in Queue", 
+            JOptionPane.INFORMATION_MESSAGE);
+    }
+    
     private void toggleStaffMode() {
         if (!isStaffLoggedIn) {
             // Show login dialog
@@ -538,7 +569,7 @@ public class FlowDesk extends JFrame {
                 isStaffMode = true;
                 showStaffPanel();
                 addSystemLog("Staff logged in");
-            logsPanelView.setLogs(isStaffLoggedIn, systemLogs); // Refresh logs panel
+            logsPanelView.setStaffLoggedIn(isStaffLoggedIn); // Refresh logs panel
             } else {
                 // Login failed or cancelled, don't switch to staff mode
                 return;
@@ -717,7 +748,7 @@ public class FlowDesk extends JFrame {
             isStaffLoggedIn = false;
             isStaffMode = false;
             addSystemLog("Staff logged out");
-        logsPanelView.setLogs(isStaffLoggedIn, systemLogs); // Refresh logs panel to show access denied message
+        logsPanelView.setStaffLoggedIn(isStaffLoggedIn); // Refresh logs panel to show access denied message
             showUserInformation();
             JOptionPane.showMessageDialog(this, 
                 "Logged out successfully", 
@@ -737,13 +768,14 @@ public class FlowDesk extends JFrame {
         StaffPanelView staffPanel = new StaffPanelView(
             PANEL_BG, INPUT_BG, ACCENT_BLUE, TEXT_COLOR, TEXT_SECONDARY,
             this::logoutStaff,
-            this::filterStaffQueue,
+            this::searchStaffQueue,
+            engine.getStaffSearchIndex()::matches,
             this::approveReservation,
             this::removeFromQueue
         );
         staffPanel.setPreferredSize(new Dimension(1000, Integer.MAX_VALUE));
         // initial render
-        staffPanel.renderQueue(new ArrayList<>(reservationQueue), "");
+        staffPanel.renderQueue(searchStaffQueue(""), "");
         
         contentPanel.add(staffPanel, BorderLayout.CENTER);
         
@@ -751,47 +783,33 @@ public class FlowDesk extends JFrame {
         contentPanel.repaint();
     }
     
-    private void filterStaffQueue(String query) {
-            List<Reservation> queueList = new ArrayList<>(reservationQueue);
-        String q = query == null ? "" : query.trim().toLowerCase();
-        List<Reservation> filtered = new ArrayList<>();
-        for (Reservation r : queueList) {
-            boolean matches = q.isEmpty() ||
-                r.getName().toLowerCase().contains(q) ||
-                r.getContactNumber().contains(query) ||
-                String.valueOf(r.getQueueNumber()).contains(query) ||
-                r.getRoom().toLowerCase().contains(q);
-            if (matches) filtered.add(r);
-        }
-
-        if (contentPanel.getComponentCount() > 0) {
+    // Called from the staff search pipeline's background thread
+    private List<Reservation> searchStaffQueue(String query) {
+        return engine.searchQueue(query);
+    }
+    
+    private StaffPanelView currentStaffPanel() {
+        if (contentPanel != null && contentPanel.getComponentCount() > 0) {
             Component mainComp = contentPanel.getComponent(0);
             if (mainComp instanceof StaffPanelView) {
-                ((StaffPanelView) mainComp).renderQueue(filtered, query);
+                return (StaffPanelView) mainComp;
             }
         }
+        return null;
     }
     
     private void approveReservation(Reservation reservation) {
-        reservation.setStatus("APPROVED");
-        approvedReservations.add(reservation);
-        reservationQueue.remove(reservation);
-        
-        addTransaction(reservation.getName(), "Reservation approved for " + reservation.getRoom() + " at " + reservation.getTimeSlot());
-        addSystemLog("DEQUEUE: Staff approved reservation Q-" + reservation.getQueueNumber() + " for " + reservation.getName() + " - Removed from FRONT");
-        
-        SwingUtilities.invokeLater(() -> {
-            updateReservationQueuePanel();
-            refreshLogsView();
-            updateNotificationBar(); // Update notification bar when reservation is approved
-            // Refresh staff panel by finding and updating the queue panel
-            filterStaffQueue(""); // Reset filter to show all
+        runInBackground(() -> engine.approve(reservation), approved -> {
+            // Another desk may have handled this entry first; only the desk that removes it approves it
+            if (!approved) {
+                showAlreadyHandled(reservation);
+                return;
+            }
+            JOptionPane.showMessageDialog(this, 
+                "Reservation approved for " + reservation.getName() + " (Q-" + reservation.getQueueNumber() + ")", 
+                "Approved", 
+                JOptionPane.INFORMATION_MESSAGE);
         });
-        
-        JOptionPane.showMessageDialog(this, 
-            "Reservation approved for " + reservation.getName() + " (Q-" + reservation.getQueueNumber() + ")", 
-            "Approved", 
-            JOptionPane.INFORMATION_MESSAGE);
     }
     
     private void removeFromQueue(Reservation reservation) {
@@ -801,39 +819,29 @@ public class FlowDesk extends JFrame {
             JOptionPane.YES_NO_OPTION);
         
         if (confirm == JOptionPane.YES_OPTION) {
-            reservationQueue.remove(reservation);
-            addTransaction(reservation.getName(), "Removed from queue by staff");
-            addSystemLog("REMOVE: Staff removed " + reservation.getName() + " (Q-" + reservation.getQueueNumber() + ") from queue");
-            
-            SwingUtilities.invokeLater(() -> {
-                updateReservationQueuePanel();
-                refreshLogsView();
-                updateNotificationBar(); // Update notification bar when reservation is removed
-                // Refresh staff panel by finding and updating the queue panel
-                filterStaffQueue(""); // Reset filter to show all
+            runInBackground(() -> engine.remove(reservation), removed -> {
+                if (!removed) {
+                    showAlreadyHandled(reservation);
+                    return;
+                }
+                JOptionPane.showMessageDialog(this, 
+                    "Customer removed from queue successfully", 
+                    "Removed", 
+                    JOptionPane.INFORMATION_MESSAGE);
             });
-            
-            JOptionPane.showMessageDialog(this, 
-                "Customer removed from queue successfully", 
-                "Removed", 
-                JOptionPane.INFORMATION_MESSAGE);
         }
     }
     
-    
-    private void updateReservationQueuePanel() {
-        updateReservationQueuePanelView();
+    private void showAlreadyHandled(Reservation reservation) {
+        JOptionPane.showMessageDialog(this, 
+            reservation.getName() + " (Q-" + reservation.getQueueNumber() + ") is no longer in the queue", 
+            "Already Handled", 
+            JOptionPane.INFORMATION_MESSAGE);
     }
-
+    
     private void updateReservationQueuePanelView() {
         if (reservationQueuePanelView != null) {
-            reservationQueuePanelView.updateQueue(new ArrayList<>(reservationQueue));
-        }
-    }
-
-    private void refreshLogsView() {
-        if (logsPanelView != null) {
-            logsPanelView.setLogs(isStaffLoggedIn, systemLogs);
+            reservationQueuePanelView.refresh();
         }
     }
 
@@ -851,8 +859,6 @@ public class FlowDesk extends JFrame {
                 addSystemLog("User information updated: " + name);
                 
         SwingUtilities.invokeLater(() -> {
-            updateReservationQueuePanelView();
-            refreshLogsView();
             updateNotificationBar();
         });
         
@@ -889,8 +895,8 @@ public class FlowDesk extends JFrame {
         bottomPanel.add(tabPanel, BorderLayout.NORTH);
         
         // Content area using new view panels
-        transactionsPanelView = new TransactionsPanelView(PANEL_BG, INPUT_BG, TEXT_COLOR, TEXT_SECONDARY, transactions);
-        logsPanelView = new LogsPanelView(PANEL_BG, TEXT_COLOR, TEXT_SECONDARY, isStaffLoggedIn, systemLogs);
+        transactionsPanelView = new TransactionsPanelView(PANEL_BG, INPUT_BG, TEXT_COLOR, TEXT_SECONDARY, engine.getTransactions(), TRANSACTION_PAGE_SIZE);
+        logsPanelView = new LogsPanelView(PANEL_BG, TEXT_COLOR, TEXT_SECONDARY, isStaffLoggedIn, engine.getSystemLogs());
         bottomPanel.add(transactionsPanelView, BorderLayout.CENTER);
         
         setTabButtonSelected(recentTransactionsBtn);
@@ -928,7 +934,7 @@ public class FlowDesk extends JFrame {
         setTabButtonSelected(recentTransactionsBtn);
         setTabButtonUnselected(systemLogsBtn);
         bottomPanel.remove(1);
-        transactionsPanelView.setTransactions(transactions);
+        transactionsPanelView.refresh();
         bottomPanel.add(transactionsPanelView, BorderLayout.CENTER);
         bottomPanel.revalidate();
         bottomPanel.repaint();
@@ -938,7 +944,7 @@ public class FlowDesk extends JFrame {
         setTabButtonUnselected(recentTransactionsBtn);
         setTabButtonSelected(systemLogsBtn);
         bottomPanel.remove(1);
-        logsPanelView.setLogs(isStaffLoggedIn, systemLogs);
+        logsPanelView.setStaffLoggedIn(isStaffLoggedIn);
         bottomPanel.add(logsPanelView, BorderLayout.CENTER);
         
         bottomPanel.revalidate();
@@ -965,6 +971,23 @@ public class FlowDesk extends JFrame {
         btn.setForeground(TEXT_COLOR);
     }
     
+    /**
+     * Serves the same engine over HTTP when started with -Dflowdesk.http.port=PORT;
+     * staff routes also need -Dflowdesk.http.staffToken=TOKEN.
+     */
+    private static void startHttpServer(FlowDeskEngine engine) {
+        String port = System.getProperty("flowdesk.http.port");
+        if (port == null || port.isEmpty()) {
+            return;
+        }
+        try {
+            FlowDeskHttpServer.preferNoDelay();
+            new FlowDeskHttpServer(engine, Integer.parseInt(port), System.getProperty("flowdesk.http.staffToken")).start();
+        } catch (IOException | NumberFormatException e) {
+            e.printStackTrace();
+        }
+    }
+    
     public static void main(String[] args) {
         SwingUtilities.invokeLater(() -> {
             try {
@@ -973,7 +996,9 @@ public class FlowDesk extends JFrame {
                 e.printStackTrace();
             }
             
-            FlowDesk app = new FlowDesk();
+            FlowDeskEngine engine = createDemoEngine();
+            startHttpServer(engine);
+            FlowDesk app = new FlowDesk(engine);
             app.setVisible(true);
         });
     }
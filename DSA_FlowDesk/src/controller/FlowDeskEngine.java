@@ -0,0 +1,791 @@
+package controller;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import model.LogStore;
+import model.Reservation;
+import model.ReservationQueue;
+import model.ReservationStatus;
+import model.ReservationStore;
+import model.Seat;
+import model.SeatInventory;
+import model.StaffSearchIndex;
+import model.Transaction;
+import model.TransactionLedger;
+import storage.Journal;
+import storage.JournalException;
+import storage.JournalRecord;
+import storage.Snapshot;
+import storage.SnapshotStore;
+
+/**
+ * Headless FlowDesk core: owns the reservation queue, the approved list, the
+ * transaction ledger, the system log and the seat inventory, and implements
+ * the queue operations on top of them. Nothing here touches Swing, so the
+ * engine can run on a server, be load-tested, or be embedded elsewhere; the
+ * {@link FlowDesk} frame is just one client of it.
+ * <p>
+ * Every operation is safe to call from any thread. Queue changes are
+ * published through {@link ReservationQueue#addQueueListener} on the calling
+ * thread. Ledger/log appends are published through {@link ActivityListener}
+ * in order on a background lane of the engine's {@link TaskExecutor}, so a
+ * slow listener never holds up a queue operation.
+ * <p>
+ * With a {@link Journal} attached, every queue change (join, approve, remove,
+ * cancel, seat reservation), transaction and log line is appended to it, and
+ * {@link #replay} rebuilds the queue, approved list, seats, ledger and log
+ * from it after a restart.
+ * A join is journaled before the reservation becomes visible in the queue,
+ * so a later approve/remove of it can never precede it in the journal. If the
+ * journal refuses a change ({@link JournalException}), the change is undone
+ * (the seat given back, the reservation dropped or put back in its place)
+ * before the exception reaches the caller, so memory never holds state that a
+ * restart would lose.
+ * <p>
+ * With a {@link SnapshotStore} attached as well, {@link #writeSnapshot}
+ * periodically saves the whole state as of a journal checkpoint and drops
+ * the journal segments before it, so a restart loads one file and replays
+ * only the tail of the journal. Queue changes hold the read side of a
+ * checkpoint lock; a snapshot takes the write side only while it copies
+ * the state, and encodes and writes it after releasing it.
+ */
+public class FlowDeskEngine {
+
+    public static final int SYSTEM_LOG_CAPACITY = 100000;
+    public static final int TRANSACTION_RETENTION = 10000;
+    public static final int SHUTDOWN_GRACE_SECONDS = 2;
+    public static final long DEFAULT_SNAPSHOT_INTERVAL_SECONDS = 60;
+
+    /**
+     * Outcome of {@link #enqueue}: the new reservation, and whether a seat was
+     * taken for it or it is waiting for the room to free up.
+     */
+    public record JoinResult(Reservation reservation, boolean seatReserved) {
+    }
+
+    /**
+     * Notified after a transaction or log line is recorded, on a background
+     * thread, in the order the records were made.
+     */
+    public interface ActivityListener {
+
+        default void transactionRecorded(Transaction transaction) {
+        }
+
+        default void logAppended(String message) {
+        }
+
+        /**
+         * Background work nobody was waiting on failed: a snapshot, a serial
+         * task, or the final flush on shutdown. Already in the system log.
+         */
+        default void operationFailed(String operation, Throwable failure) {
+        }
+    }
+
+    private final ReservationStore reservations = new ReservationStore();
+    private final ReservationQueue reservationQueue = new ReservationQueue();
+    private final StaffSearchIndex staffSearchIndex = new StaffSearchIndex();
+    private final List<Reservation> approvedReservations = Collections.synchronizedList(new ArrayList<>());
+    private final TransactionLedger transactions;
+    private final LogStore systemLogs;
+    private final SeatInventory seatInventory = new SeatInventory();
+    private final List<ActivityListener> activityListeners = new CopyOnWriteArrayList<>();
+    // Names with a join in progress; claiming one makes the duplicate check and the offer atomic
+    private final Set<String> joiningNames = ConcurrentHashMap.newKeySet();
+    private final TaskExecutor tasks = new TaskExecutor("flowdesk-task", failure -> reportFailure("Background task", failure));
+    private final Executor activityDispatch = tasks.serial();
+    private final ReadWriteLock checkpointLock = new ReentrantReadWriteLock();
+    private volatile Journal journal;
+    private volatile SnapshotStore snapshots;
+    private ScheduledExecutorService snapshotScheduler;
+
+    public FlowDeskEngine() {
+        this(SYSTEM_LOG_CAPACITY, TRANSACTION_RETENTION);
+    }
+
+    public FlowDeskEngine(int systemLogCapacity, int transactionRetention) {
+        this.systemLogs = new LogStore(systemLogCapacity);
+        this.transactions = new TransactionLedger(transactionRetention);
+        reservationQueue.addQueueListener(staffSearchIndex);
+    }
+
+    public void addActivityListener(ActivityListener listener) {
+        activityListeners.add(listener);
+    }
+
+    public void removeActivityListener(ActivityListener listener) {
+        activityListeners.remove(listener);
+    }
+
+    /**
+     * Opens (or creates) the snapshot and journal in {@code dataDirectory} and
+     * returns an engine rebuilt from them: the last snapshot, then the journal
+     * records written after it. A fresh directory is seeded with the demo
+     * reservations; the demo seat catalog is always loaded first, since seat
+     * availability is saved and journaled against it. Snapshots are then taken
+     * every {@code flowdesk.snapshot.intervalSeconds} (default
+     * {@value #DEFAULT_SNAPSHOT_INTERVAL_SECONDS}; 0 disables them).
+     */
+    public static FlowDeskEngine openJournaled(Path dataDirectory) throws IOException {
+        FlowDeskEngine engine = new FlowDeskEngine();
+        engine.loadDemoSeats();
+        SnapshotStore snapshots = new SnapshotStore(dataDirectory);
+        Snapshot snapshot = snapshots.read(engine.reservations);
+        if (snapshot != null) {
+            engine.restore(snapshot);
+        }
+        Journal journal = Journal.open(dataDirectory, Journal.DEFAULT_SEGMENT_BYTES,
+            snapshot == null ? 1 : snapshot.journalSegment());
+        long replayed = journal.getRecoveredRecords() > 0 ? engine.replay(journal) : 0;
+        engine.attachJournal(journal);
+        engine.attachSnapshots(snapshots);
+        if (snapshot == null && replayed == 0) {
+            engine.loadDemoReservations();
+        } else {
+            engine.log("System recovered - " + (snapshot == null ? "no snapshot" : "snapshot of " + LogStore.formatTimestamp(snapshot.createdAt()))
+                + " + " + replayed + " journal records from " + dataDirectory);
+        }
+
+        long interval = Long.getLong("flowdesk.snapshot.intervalSeconds", DEFAULT_SNAPSHOT_INTERVAL_SECONDS);
+        if (interval > 0) {
+            engine.scheduleSnapshots(interval, TimeUnit.SECONDS);
+        }
+        return engine;
+    }
+
+    /**
+     * Journal directory: the {@code flowdesk.data.dir} system property, or {@code ~/.flowdesk}.
+     */
+    public static Path defaultDataDirectory() {
+        String configured = System.getProperty("flowdesk.data.dir");
+        if (configured != null && !configured.isEmpty()) {
+            return Paths.get(configured);
+        }
+        return Paths.get(System.getProperty("user.home"), ".flowdesk");
+    }
+
+    /**
+     * Seeds the demo seat catalog and a handful of waiting reservations.
+     */
+    public void loadDemoData() {
+        loadDemoSeats();
+        loadDemoReservations();
+    }
+
+    /**
+     * Adds the demo rooms, with today's demo bookings; later days start empty.
+     */
+    public void loadDemoSeats() {
+        LocalDate today = LocalDate.now();
+        seatInventory.addSeats(List.of(
+            new Seat("A-201", "Main Building", "10:00 - 12:00", 10, today, 0, "PC • Airconditioned"),
+            new Seat("A-102", "Main Building", "14:00 - 16:00", 8, today, 0, "Silent Zone"),
+            new Seat("B-101", "Annex", "13:00 - 15:00", 6, today, 2, "Near Window"),
+            new Seat("B-202", "Annex", "09:00 - 11:00", 12, today, 4, "Group Study"),
+            new Seat("C-301", "Library Wing", "15:00 - 17:00", 20, today, 8, "PC • Projector"),
+            new Seat("C-105", "Library Wing", "08:00 - 10:00", 5, today, 0, "Silent Zone • Individual")
+        ));
+    }
+
+    public void loadDemoReservations() {
+        String[][] demoReservations = {
+            {"Crishine Bangay", "09171234567", "21", "A-201", "10:00 - 12:00"},
+            {"Evangeline Herondio", "09183456721", "22", "A-102", "14:00 - 16:00"},
+            {"Nudo Christine", "09224567891", "24", "B-101", "13:00 - 15:00"},
+            {"Roldan Torrejas", "09335678912", "23", "B-202", "09:00 - 11:00"},
+            {"Ryan Ligasan", "09451234567", "27", "C-105", "08:00 - 10:00"}
+        };
+
+        for (String[] demo : demoReservations) {
+            Reservation reservation = reservations.create(
+                demo[0],
+                demo[1],
+                Integer.parseInt(demo[2]),
+                demo[3],
+                demo[4],
+                reservationQueue.nextQueueNumber()
+            );
+            long timestamp = System.currentTimeMillis();
+            checkpointLock.readLock().lock();
+            try {
+                journalEnqueue(timestamp, reservation, null);
+                reservationQueue.offer(reservation);
+                recordTransaction(reservation.getName(), "Joined queue for " + reservation.getRoom() + " at " + reservation.getTimeSlot(), timestamp);
+                log(timestamp, "ENQUEUE: Demo user " + reservation.getName() + " added to queue (Q-" + reservation.getQueueNumber() + ") for " + reservation.getRoom());
+            } finally {
+                checkpointLock.readLock().unlock();
+            }
+        }
+
+        log("System initialized - Queue preloaded with demo reservations");
+        log("Queue operations: Enqueue (add to rear), Dequeue (remove from front)");
+    }
+
+    /**
+     * Returns the earliest waiting reservation for the given (trimmed) name, or null.
+     */
+    public Reservation findWaiting(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return null;
+        }
+        Reservation existing = reservationQueue.findByName(name);
+        return existing != null && existing.getStatus() == ReservationStatus.WAITING ? existing : null;
+    }
+
+    /**
+     * Adds a customer to the rear of the queue for a room and time slot and
+     * takes a seat for them if one is free; otherwise they wait for the room.
+     *
+     * @throws IllegalStateException if the customer already has a waiting reservation
+     * @throws JournalException     if the join can't be journaled; nothing is changed
+     */
+    public JoinResult enqueue(String name, String contactNumber, int age, String roomCode, String timeSlot) {
+        String nameKey = name == null ? "" : name.trim();
+        if (!nameKey.isEmpty() && !joiningNames.add(nameKey)) {
+            throw new IllegalStateException(name + " is already in the queue");
+        }
+        checkpointLock.readLock().lock();
+        try {
+            if (findWaiting(name) != null) {
+                throw new IllegalStateException(name + " is already in the queue");
+            }
+            Reservation reservation = reservations.create(name, contactNumber, age, roomCode, timeSlot, reservationQueue.nextQueueNumber());
+
+            // Atomically take today's seat if one is left; otherwise the customer waits in the queue
+            long timestamp = System.currentTimeMillis();
+            LocalDate bookingDate = LocalDate.now();
+            boolean seatReserved = seatInventory.reserve(roomCode, timeSlot, bookingDate);
+
+            try {
+                journalEnqueue(timestamp, reservation, seatReserved ? bookingDate : null);
+            } catch (RuntimeException e) {
+                // The join never happened: give the seat and the row back rather than leak them
+                if (seatReserved) {
+                    seatInventory.release(roomCode, timeSlot, bookingDate);
+                }
+                reservations.discard(reservation);
+                throw e;
+            }
+            reservationQueue.offer(reservation);
+
+            Seat seat = seatInventory.getSeat(roomCode, timeSlot);
+            String place = seat == null ? roomCode : roomCode + " (" + seat.getBuilding() + ")";
+            recordTransaction(name, seatReserved
+                ? "Reserved seat for " + place + " at " + timeSlot
+                : "Joined waiting queue for " + place + " at " + timeSlot + " (Room is full)", timestamp);
+            log(timestamp, "ENQUEUE: " + name + " joined the queue (Q-" + reservation.getQueueNumber() + ") for " + roomCode + " - Added to REAR" + (seatReserved ? "" : " (Waiting - room full)"));
+            return new JoinResult(reservation, seatReserved);
+        } finally {
+            checkpointLock.readLock().unlock();
+            if (!nameKey.isEmpty()) {
+                joiningNames.remove(nameKey);
+            }
+        }
+    }
+
+    /**
+     * Serves a waiting reservation. Returns false if it already left the queue
+     * (e.g. another desk approved or removed it first).
+     */
+    public boolean approve(Reservation reservation) {
+        checkpointLock.readLock().lock();
+        try {
+            if (!reservationQueue.remove(reservation)) {
+                return false;
+            }
+            long timestamp = System.currentTimeMillis();
+            journalQueueEvent(JournalRecord.Type.APPROVE, timestamp, reservation);
+            markApproved(reservation);
+
+            recordTransaction(reservation.getName(), "Reservation approved for " + reservation.getRoom() + " at " + reservation.getTimeSlot(), timestamp);
+            log(timestamp, "DEQUEUE: Staff approved reservation Q-" + reservation.getQueueNumber() + " for " + reservation.getName() + " - Removed from FRONT");
+            return true;
+        } finally {
+            checkpointLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Staff removal of a waiting reservation. Returns false if it already left the queue.
+     */
+    public boolean remove(Reservation reservation) {
+        checkpointLock.readLock().lock();
+        try {
+            if (!reservationQueue.remove(reservation)) {
+                return false;
+            }
+            long timestamp = System.currentTimeMillis();
+            journalQueueEvent(JournalRecord.Type.REMOVE, timestamp, reservation);
+            finish(reservation, ReservationStatus.REMOVED);
+            recordTransaction(reservation.getName(), "Removed from queue by staff", timestamp);
+            log(timestamp, "REMOVE: Staff removed " + reservation.getName() + " (Q-" + reservation.getQueueNumber() + ") from queue");
+            return true;
+        } finally {
+            checkpointLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Customer cancellation of their own reservation. Returns false if it already left the queue.
+     */
+    public boolean cancel(Reservation reservation) {
+        checkpointLock.readLock().lock();
+        try {
+            if (!reservationQueue.remove(reservation)) {
+                return false;
+            }
+            long timestamp = System.currentTimeMillis();
+            journalQueueEvent(JournalRecord.Type.CANCEL, timestamp, reservation);
+            finish(reservation, ReservationStatus.CANCELLED);
+            recordTransaction(reservation.getName(), "Cancelled reservation for " + reservation.getRoom(), timestamp);
+            log(timestamp, "REMOVE: " + reservation.getName() + " cancelled their reservation (Q-" + reservation.getQueueNumber() + ")");
+            return true;
+        } finally {
+            checkpointLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns how many reservations are ahead of the given one, or -1 if it is not queued.
+     */
+    public int positionOf(Reservation reservation) {
+        return reservationQueue.contains(reservation) ? reservationQueue.positionOf(reservation) : -1;
+    }
+
+    /**
+     * Takes one of today's seats outside the queue. Returns false if the slot is unknown or full.
+     */
+    public boolean reserveSeat(String roomCode, String timeSlot) {
+        checkpointLock.readLock().lock();
+        try {
+            LocalDate date = LocalDate.now();
+            if (!seatInventory.reserve(roomCode, timeSlot, date)) {
+                return false;
+            }
+            Journal current = journal;
+            if (current != null) {
+                try {
+                    current.appendSeatReserve(System.currentTimeMillis(), roomCode, timeSlot, date);
+                } catch (RuntimeException e) {
+                    seatInventory.release(roomCode, timeSlot, date);
+                    throw e;
+                }
+            }
+            return true;
+        } finally {
+            checkpointLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Journal that changes are appended to from now on, or null for none.
+     */
+    public void attachJournal(Journal journal) {
+        this.journal = journal;
+    }
+
+    public Journal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Applies every record in the journal to this engine, without journaling
+     * them again. Call on a freshly seeded engine before attaching the journal.
+     */
+    public long replay(Journal source) throws IOException {
+        return source.replay(this::apply);
+    }
+
+    /**
+     * Where {@link #writeSnapshot} saves snapshots, or null for none.
+     */
+    public void attachSnapshots(SnapshotStore snapshots) {
+        this.snapshots = snapshots;
+    }
+
+    /**
+     * Takes a snapshot every {@code interval} on a background thread.
+     */
+    public synchronized void scheduleSnapshots(long interval, TimeUnit unit) {
+        if (snapshotScheduler == null) {
+            snapshotScheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "flowdesk-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        snapshotScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                writeSnapshot();
+            } catch (IOException | RuntimeException e) {
+                reportFailure("Snapshot", e);
+            }
+        }, interval, interval, unit);
+    }
+
+    /**
+     * Saves the current state to the attached {@link SnapshotStore} and deletes
+     * the journal segments it makes redundant. Does nothing without a store.
+     * Seat bookings for days already past are dropped first, so neither memory
+     * nor the snapshot keeps growing with old days.
+     */
+    public void writeSnapshot() throws IOException {
+        SnapshotStore store = snapshots;
+        if (store == null) {
+            return;
+        }
+        seatInventory.pruneBefore(LocalDate.now());
+        // One snapshot at a time, so an older one never overwrites a newer one
+        synchronized (store) {
+            Snapshot snapshot = captureSnapshot();
+            store.write(snapshot);
+            Journal current = journal;
+            if (current != null) {
+                current.deleteSegmentsBefore(snapshot.journalSegment());
+            }
+        }
+    }
+
+    /**
+     * Copies the state and cuts the journal at the same instant, holding off
+     * queue changes only for the copy.
+     */
+    private Snapshot captureSnapshot() throws IOException {
+        checkpointLock.writeLock().lock();
+        try {
+            Journal current = journal;
+            int journalSegment = current == null ? 1 : current.checkpoint();
+
+            // Reservations are immutable apart from status, which the section implies
+            List<Reservation> waiting = new ArrayList<>(reservationQueue);
+            List<Reservation> approved = getApprovedReservations();
+            List<Snapshot.SeatAvailability> seats = new ArrayList<>();
+            for (Seat seat : seatInventory.getAllSeats()) {
+                for (LocalDate date : seat.getBookedDates()) {
+                    seats.add(new Snapshot.SeatAvailability(seat.getRoomCode(), seat.getTimeSlot(), date,
+                        seat.on(date).getAvailableSeats()));
+                }
+            }
+
+            List<Transaction> ledger;
+            synchronized (transactions) {
+                ledger = new ArrayList<>(transactions.size());
+                for (int i = transactions.size() - 1; i >= 0; i--) {
+                    ledger.add(transactions.get(i));
+                }
+            }
+
+            long[] logTimestamps;
+            String[] logMessages;
+            synchronized (systemLogs) {
+                int count = systemLogs.size();
+                logTimestamps = new long[count];
+                logMessages = new String[count];
+                for (int i = 0; i < count; i++) {
+                    logTimestamps[i] = systemLogs.getTimestamp(count - 1 - i);
+                    logMessages[i] = systemLogs.getMessage(count - 1 - i);
+                }
+            }
+
+            return new Snapshot(journalSegment, System.currentTimeMillis(), reservationQueue.peekNextQueueNumber(),
+                waiting, approved, seats, ledger, logTimestamps, logMessages);
+        } finally {
+            checkpointLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Loads a snapshot into a freshly constructed engine whose seat catalog is
+     * already in place. Seats the snapshot doesn't know keep their catalog availability.
+     */
+    public void restore(Snapshot snapshot) {
+        for (Reservation reservation : snapshot.waiting()) {
+            reservationQueue.offer(reservation);
+        }
+        reservationQueue.advanceQueueNumber(snapshot.nextQueueNumber());
+        for (Reservation reservation : snapshot.approved()) {
+            reservations.release(reservation);
+        }
+        approvedReservations.addAll(snapshot.approved());
+        for (Snapshot.SeatAvailability availability : snapshot.seats()) {
+            Seat seat = seatInventory.getSeat(availability.roomCode(), availability.timeSlot());
+            if (seat != null) {
+                seat.on(availability.date()).setAvailableSeats(availability.availableSeats());
+            }
+        }
+        for (Transaction transaction : snapshot.transactions()) {
+            transactions.restore(transaction);
+        }
+        for (int i = 0; i < snapshot.logMessages().length; i++) {
+            systemLogs.append(snapshot.logTimestamps()[i], snapshot.logMessages()[i]);
+        }
+    }
+
+    private void apply(JournalRecord record) {
+        // Transactions and log lines are journaled on their own, so queue
+        // records only replay the state change itself
+        switch (record.type()) {
+            case ENQUEUE -> {
+                if (record.hasFlag(JournalRecord.SEAT_RESERVED)) {
+                    seatInventory.reserve(record.room(), record.timeSlot(), record.seatDate());
+                }
+                reservationQueue.offer(reservations.create(record.name(), record.contactNumber(), record.age(),
+                    record.room(), record.timeSlot(), record.queueNumber()));
+            }
+            case APPROVE -> {
+                Reservation reservation = reservationQueue.findByQueueNumber(record.queueNumber());
+                if (reservation != null && reservationQueue.remove(reservation)) {
+                    markApproved(reservation);
+                }
+            }
+            case REMOVE, CANCEL -> {
+                Reservation reservation = reservationQueue.findByQueueNumber(record.queueNumber());
+                if (reservation != null && reservationQueue.remove(reservation)) {
+                    finish(reservation, record.type() == JournalRecord.Type.REMOVE
+                        ? ReservationStatus.REMOVED : ReservationStatus.CANCELLED);
+                }
+            }
+            case SEAT_RESERVE -> seatInventory.reserve(record.room(), record.timeSlot(), record.seatDate());
+            case TRANSACTION -> transactions.restore(new Transaction(record.sequence(), record.userName(),
+                record.description(), record.timestamp()));
+            case LOG -> systemLogs.append(record.timestamp(), record.message());
+        }
+    }
+
+    private void markApproved(Reservation reservation) {
+        finish(reservation, ReservationStatus.APPROVED);
+        approvedReservations.add(reservation);
+    }
+
+    /**
+     * Moves a reservation that just left the queue to its final status and
+     * hands its store row back for reuse; the reservation keeps its values.
+     */
+    private void finish(Reservation reservation, ReservationStatus status) {
+        reservation.setStatus(status);
+        reservations.release(reservation);
+    }
+
+    private void journalEnqueue(long timestamp, Reservation reservation, LocalDate seatDate) {
+        Journal current = journal;
+        if (current != null) {
+            current.appendEnqueue(timestamp, reservation, seatDate);
+        }
+    }
+
+    /**
+     * Journals a reservation that was just taken out of the queue. If the
+     * append fails, the reservation goes back in (at its old position, since
+     * the queue is ordered by queue number) before the failure is rethrown.
+     */
+    private void journalQueueEvent(JournalRecord.Type type, long timestamp, Reservation reservation) {
+        Journal current = journal;
+        if (current != null) {
+            try {
+                current.appendQueueEvent(type, timestamp, reservation.getQueueNumber());
+            } catch (RuntimeException e) {
+                reservationQueue.offer(reservation);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Staff queue search; see {@link StaffSearchIndex#search}.
+     */
+    public List<Reservation> searchQueue(String query) {
+        return staffSearchIndex.search(query);
+    }
+
+    public Transaction recordTransaction(String userName, String description) {
+        checkpointLock.readLock().lock();
+        try {
+            return recordTransaction(userName, description, System.currentTimeMillis());
+        } finally {
+            checkpointLock.readLock().unlock();
+        }
+    }
+
+    private Transaction recordTransaction(String userName, String description, long timestamp) {
+        // O(1) append; IDs come from the ledger's monotonic counter. Journaled
+        // under the ledger's lock so replay restores entries in ledger order.
+        Transaction transaction;
+        synchronized (transactions) {
+            transaction = transactions.append(userName, description, timestamp);
+            Journal current = journal;
+            if (current != null) {
+                current.appendTransaction(transaction);
+            }
+        }
+        if (!activityListeners.isEmpty()) {
+            activityDispatch.execute(() -> {
+                for (ActivityListener listener : activityListeners) {
+                    listener.transactionRecorded(transaction);
+                }
+            });
+        }
+        return transaction;
+    }
+
+    public void log(String message) {
+        checkpointLock.readLock().lock();
+        try {
+            log(System.currentTimeMillis(), message);
+        } finally {
+            checkpointLock.readLock().unlock();
+        }
+    }
+
+    private void log(long timestamp, String message) {
+        // Ring buffer: O(1) append, oldest entry is overwritten once full
+        synchronized (systemLogs) {
+            systemLogs.append(timestamp, message);
+            Journal current = journal;
+            if (current != null) {
+                current.appendLog(timestamp, message);
+            }
+        }
+        if (!activityListeners.isEmpty()) {
+            activityDispatch.execute(() -> {
+                for (ActivityListener listener : activityListeners) {
+                    listener.logAppended(message);
+                }
+            });
+        }
+    }
+
+    /**
+     * Records a failure of background work in the system log and tells the
+     * {@link ActivityListener}s. The line is kept in memory even when the
+     * journal is what failed.
+     */
+    public void reportFailure(String operation, Throwable failure) {
+        logFailure(operation, failure);
+        if (!activityListeners.isEmpty()) {
+            activityDispatch.execute(() -> {
+                for (ActivityListener listener : activityListeners) {
+                    try {
+                        listener.operationFailed(operation, failure);
+                    } catch (RuntimeException e) {
+                        // Only logged: reporting it to the listeners again could loop
+                        logFailure("Failure listener", e);
+                    }
+                }
+            });
+        }
+    }
+
+    private void logFailure(String operation, Throwable failure) {
+        try {
+            log("ERROR: " + operation + " failed: " + failure);
+        } catch (JournalException e) {
+            // Already in the in-memory log; the journal is refusing appends
+        }
+    }
+
+    /**
+     * Background executor for blocking work (persistence, exports, notifications).
+     */
+    public TaskExecutor getTaskExecutor() {
+        return tasks;
+    }
+
+    /**
+     * Lets pending background work finish, waiting up to the timeout, then
+     * writes a final snapshot (so the next start replays nothing) and flushes
+     * and closes the journal.
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        boolean finished = tasks.shutdown(timeout, unit);
+        synchronized (this) {
+            if (snapshotScheduler != null) {
+                snapshotScheduler.shutdown();
+            }
+        }
+        try {
+            writeSnapshot();
+        } catch (IOException | RuntimeException e) {
+            reportFailure("Final snapshot", e);
+        }
+        // Detach first, so a second shutdown (e.g. the exit hook) finds nothing left to close
+        snapshots = null;
+        Journal current = journal;
+        journal = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException | RuntimeException e) {
+                reportFailure("Closing the journal", e);
+            }
+        }
+        return finished;
+    }
+
+    /**
+     * Registers a JVM shutdown hook that runs {@link #shutdown}, so journaled
+     * records still in the commit buffer reach the disk on a normal exit.
+     */
+    public void shutdownOnExit() {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                shutdown(SHUTDOWN_GRACE_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "flowdesk-shutdown"));
+    }
+
+    public ReservationQueue getQueue() {
+        return reservationQueue;
+    }
+
+    /**
+     * Number of reservations in the given status, kept as they change rather
+     * than counted. Waiting and approved reservations are saved in snapshots;
+     * cancelled and removed ones are not, so after a restart those two only
+     * count what the journal replayed since the last snapshot.
+     */
+    public int countByStatus(ReservationStatus status) {
+        return reservations.count(status);
+    }
+
+    public StaffSearchIndex getStaffSearchIndex() {
+        return staffSearchIndex;
+    }
+
+    /**
+     * Returns a snapshot of the approved reservations, oldest first.
+     */
+    public List<Reservation> getApprovedReservations() {
+        synchronized (approvedReservations) {
+            return new ArrayList<>(approvedReservations);
+        }
+    }
+
+    public TransactionLedger getTransactions() {
+        return transactions;
+    }
+
+    public LogStore getSystemLogs() {
+        return systemLogs;
+    }
+
+    public SeatInventory getSeatInventory() {
+        return seatInventory;
+    }
+}
@@ -0,0 +1,166 @@
+package controller;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs blocking side effects (journal writes, exports, notification dispatch)
+ * off the calling thread, one virtual thread per task when the JDK has them.
+ * Results come back through {@link CompletableFuture}s or callbacks on a
+ * caller-chosen executor, e.g. {@code SwingUtilities::invokeLater}, so the
+ * EDT hands work off and is called back, but never waits on I/O.
+ * <p>
+ * After {@link #shutdown} nothing throws at the caller: submitted tasks come
+ * back as futures failed with {@link RejectedExecutionException}, and tasks
+ * handed to a {@link #serial()} executor are dropped. A {@link #serial()} task
+ * that throws is handed to the failure handler and the lane moves on.
+ */
+public class TaskExecutor {
+
+    private final ExecutorService executor;
+    private final Consumer<? super RuntimeException> failureHandler;
+
+    /**
+     * @param failureHandler called on the failing thread with whatever a
+     *                       {@link #serial()} task threw, since nobody waits on those
+     */
+    public TaskExecutor(String name, Consumer<? super RuntimeException> failureHandler) {
+        this.executor = newVirtualThreadExecutor(name);
+        this.failureHandler = failureHandler;
+    }
+
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(task.call());
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Runs the task in the background, then hands its result or failure to the
+     * matching callback on {@code completion}.
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task, Executor completion,
+                                           Consumer<? super T> onSuccess, Consumer<? super Throwable> onFailure) {
+        CompletableFuture<T> future = submit(task);
+        future.whenCompleteAsync((result, failure) -> {
+            if (failure == null) {
+                onSuccess.accept(result);
+            } else {
+                onFailure.accept(failure);
+            }
+        }, completion);
+        return future;
+    }
+
+    public CompletableFuture<Void> run(Runnable task) {
+        return submit(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Returns an executor that runs its tasks one at a time, in submission order,
+     * on this executor's threads. Use it where background work must not reorder,
+     * e.g. appends to one file or events for one listener. Once this executor
+     * is shut down, tasks that would need a new thread are dropped.
+     */
+    public Executor serial() {
+        return new SerialExecutor(executor, failureHandler);
+    }
+
+    /**
+     * Stops accepting tasks and waits up to the timeout for queued ones to finish.
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        executor.shutdown();
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    /**
+     * Virtual thread per task when available. Looked up reflectively so the
+     * project still builds and runs on JDK 17, where it falls back to a cached
+     * pool of daemon threads.
+     */
+    public static ExecutorService newVirtualThreadExecutor(String name) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger count = new AtomicInteger();
+            ThreadFactory factory = task -> {
+                Thread thread = new Thread(task, name + "-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+            return Executors.newCachedThreadPool(factory);
+        }
+    }
+
+    private static final class SerialExecutor implements Executor {
+        private final ExecutorService delegate;
+        private final Consumer<? super RuntimeException> failureHandler;
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private boolean running;
+
+        SerialExecutor(ExecutorService delegate, Consumer<? super RuntimeException> failureHandler) {
+            this.delegate = delegate;
+            this.failureHandler = failureHandler;
+        }
+
+        @Override
+        public synchronized void execute(Runnable task) {
+            tasks.add(task);
+            if (!running) {
+                running = true;
+                try {
+                    delegate.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // No drain is coming: free the lane so it isn't stuck "running" on a task nobody runs
+                    tasks.clear();
+                    running = false;
+                    if (!delegate.isShutdown()) {
+                        throw e;
+                    }
+                }
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Runnable task;
+                synchronized (this) {
+                    task = tasks.poll();
+                    if (task == null) {
+                        running = false;
+                        return;
+                    }
+                }
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    failureHandler.accept(e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package model;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Fixed-capacity ring buffer of system log lines. Appends are O(1) and only
+ * store a {@code long} timestamp and the message; the "[date time] message"
+ * text is formatted lazily when a line is read. Reads are newest-first
+ * directly over the buffer, without copying. Methods are synchronized so any
+ * thread may append.
+ */
+public class LogStore extends AbstractList<String> implements RandomAccess {
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT =
+        DateTimeFormatter.ofPattern("MM/dd/yyyy HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    private final long[] timestamps;
+    private final String[] messages;
+    private int next;
+    private int count;
+    private long appendedCount;
+
+    public LogStore(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Log capacity must be positive: " + capacity);
+        }
+        timestamps = new long[capacity];
+        messages = new String[capacity];
+    }
+
+    public void append(String message) {
+        append(System.currentTimeMillis(), message);
+    }
+
+    /**
+     * Appends a line, overwriting the oldest one once the buffer is full.
+     */
+    public synchronized void append(long timestamp, String message) {
+        timestamps[next] = timestamp;
+        messages[next] = message;
+        next = next + 1 == messages.length ? 0 : next + 1;
+        if (count < messages.length) {
+            count++;
+        }
+        modCount++;
+        appendedCount++;
+    }
+
+    public int capacity() {
+        return messages.length;
+    }
+
+    /**
+     * Total number of lines ever appended, including ones already overwritten.
+     */
+    public synchronized long getAppendedCount() {
+        return appendedCount;
+    }
+
+    /**
+     * Timestamp in epoch millis of the line at the given newest-first index.
+     */
+    public synchronized long getTimestamp(int index) {
+        return timestamps[slot(index)];
+    }
+
+    /**
+     * The line that was at the given newest-first index when {@code appendedCount}
+     * lines had been appended, skipping any appended since; null if it has been overwritten.
+     */
+    public synchronized String getAsOf(long appendedCount, int index) {
+        long shifted = index + (this.appendedCount - appendedCount);
+        return shifted >= 0 && shifted < count ? get((int) shifted) : null;
+    }
+
+    public synchronized String getMessage(int index) {
+        return messages[slot(index)];
+    }
+
+    @Override
+    public synchronized String get(int index) {
+        int slot = slot(index);
+        return "[" + formatTimestamp(timestamps[slot]) + "] " + messages[slot];
+    }
+
+    @Override
+    public synchronized int size() {
+        return count;
+    }
+
+    @Override
+    public synchronized void clear() {
+        Arrays.fill(messages, null);
+        next = 0;
+        count = 0;
+        modCount++;
+    }
+
+    public static String formatTimestamp(long timestamp) {
+        return TIMESTAMP_FORMAT.format(Instant.ofEpochMilli(timestamp));
+    }
+
+    private int slot(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+        }
+        int slot = next - 1 - index;
+        return slot < 0 ? slot + messages.length : slot;
+    }
+}
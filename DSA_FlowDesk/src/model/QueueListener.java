@@ -0,0 +1,27 @@
+package model;
+
+/**
+ * Receives change events from a {@link ReservationQueue}. Events are delivered
+ * synchronously on the thread that mutated the queue.
+ */
+public interface QueueListener {
+
+    /**
+     * A reservation was added at the given 0-based position.
+     */
+    default void reservationAdded(Reservation reservation, int position) {
+    }
+
+    /**
+     * A reservation was removed from the given 0-based position; every entry
+     * that was behind it moved up by one.
+     */
+    default void reservationRemoved(Reservation reservation, int position) {
+    }
+
+    /**
+     * The front of the queue changed. {@code newHead} is null when the queue became empty.
+     */
+    default void headChanged(Reservation newHead) {
+    }
+}
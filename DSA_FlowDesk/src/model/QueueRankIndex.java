@@ -0,0 +1,153 @@
+package model;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Fenwick (binary indexed) tree over queue numbers. Tracks which queue numbers
+ * are currently waiting so that "how many are ahead of me" and "who is k-th in
+ * line" are O(log n) instead of a scan over the queue.
+ * <p>
+ * Thread-safe: cells are atomic, so concurrent adds and removes only share the
+ * read side of a lock, which is taken exclusively just to grow the tree.
+ * Queries that race with updates see some interleaving of them.
+ */
+public class QueueRankIndex {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final ReadWriteLock resizeLock = new ReentrantReadWriteLock();
+    private final AtomicInteger count = new AtomicInteger();
+
+    // 1-based Fenwick array; capacity is always a power of two
+    private volatile AtomicIntegerArray tree;
+
+    public QueueRankIndex() {
+        tree = new AtomicIntegerArray(INITIAL_CAPACITY + 1);
+    }
+
+    public void add(int queueNumber) {
+        checkQueueNumber(queueNumber);
+        ensureCapacity(queueNumber);
+        resizeLock.readLock().lock();
+        try {
+            update(tree, queueNumber, 1);
+            count.incrementAndGet();
+        } finally {
+            resizeLock.readLock().unlock();
+        }
+    }
+
+    public void remove(int queueNumber) {
+        checkQueueNumber(queueNumber);
+        resizeLock.readLock().lock();
+        try {
+            AtomicIntegerArray cells = tree;
+            if (queueNumber >= cells.length()) {
+                return;
+            }
+            update(cells, queueNumber, -1);
+            count.decrementAndGet();
+        } finally {
+            resizeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of tracked queue numbers strictly smaller than the given one.
+     */
+    public int countBefore(int queueNumber) {
+        resizeLock.readLock().lock();
+        try {
+            AtomicIntegerArray cells = tree;
+            int i = Math.min(queueNumber - 1, cells.length() - 1);
+            int sum = 0;
+            while (i > 0) {
+                sum += cells.get(i);
+                i -= i & -i;
+            }
+            return sum;
+        } finally {
+            resizeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the queue number at the given 0-based rank, or -1 if out of range.
+     */
+    public int select(int rank) {
+        if (rank < 0 || rank >= count.get()) {
+            return -1;
+        }
+        resizeLock.readLock().lock();
+        try {
+            AtomicIntegerArray cells = tree;
+            int capacity = cells.length() - 1;
+            int pos = 0;
+            int remaining = rank + 1;
+            for (int step = capacity; step > 0; step >>= 1) {
+                int next = pos + step;
+                if (next <= capacity && cells.get(next) < remaining) {
+                    pos = next;
+                    remaining -= cells.get(next);
+                }
+            }
+            // A concurrent removal can leave the rank past the end
+            return pos < capacity ? pos + 1 : -1;
+        } finally {
+            resizeLock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        return count.get();
+    }
+
+    public void clear() {
+        resizeLock.writeLock().lock();
+        try {
+            tree = new AtomicIntegerArray(INITIAL_CAPACITY + 1);
+            count.set(0);
+        } finally {
+            resizeLock.writeLock().unlock();
+        }
+    }
+
+    private static void update(AtomicIntegerArray cells, int i, int delta) {
+        while (i < cells.length()) {
+            cells.addAndGet(i, delta);
+            i += i & -i;
+        }
+    }
+
+    private void ensureCapacity(int queueNumber) {
+        if (queueNumber < tree.length()) {
+            return;
+        }
+        resizeLock.writeLock().lock();
+        try {
+            int capacity = tree.length() - 1;
+            while (queueNumber > capacity) {
+                // Doubling a power-of-two Fenwick tree: the new cells in (n, 2n) cover
+                // empty ranges, and cell 2n covers (0, 2n], which equals cell n.
+                AtomicIntegerArray grown = new AtomicIntegerArray(capacity * 2 + 1);
+                for (int i = 1; i <= capacity; i++) {
+                    grown.set(i, tree.get(i));
+                }
+                grown.set(capacity * 2, tree.get(capacity));
+                tree = grown;
+                capacity *= 2;
+            }
+        } finally {
+            resizeLock.writeLock().unlock();
+        }
+    }
+
+    private static void checkQueueNumber(int queueNumber) {
+        if (queueNumber <= 0) {
+            throw new IllegalArgumentException("Queue numbers start at 1: " + queueNumber);
+        }
+    }
+}
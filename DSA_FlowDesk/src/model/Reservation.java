@@ -1,60 +1,110 @@
 package model;
 
+import java.lang.invoke.VarHandle;
+
+/**
+ * View of one row in a {@link ReservationStore}; every field lives in the store
+ * until the row is released, after which the view answers from its own copy.
+ * A row has exactly one view, so views compare by identity.
+ */
 public class Reservation {
-    private String name;
-    private String contactNumber;
-    private int age;
-    private String room;
-    private String timeSlot;
-    private int queueNumber;
-    private String status; // "WAITING", "APPROVED", "CANCELLED"
-    private String reservationId;
-
-    public Reservation(String name, String contactNumber, int age, String room, String timeSlot, int queueNumber) {
-        this.name = name;
-        this.contactNumber = contactNumber;
-        this.age = age;
-        this.room = room;
-        this.timeSlot = timeSlot;
-        this.queueNumber = queueNumber;
-        this.status = "WAITING";
-        this.reservationId = "R" + String.format("%04d", queueNumber);
+    private final ReservationStore store;
+    private final int row;
+    private final int generation;
+    // Set by ReservationStore.release before the row can be reused
+    private volatile Released released;
+
+    private record Released(String name, String contactNumber, int age, String room, String timeSlot,
+                            int queueNumber, ReservationStatus status) {
+    }
+
+    Reservation(ReservationStore store, int row, int generation) {
+        this.store = store;
+        this.row = row;
+        this.generation = generation;
     }
 
     public String getName() {
-        return name;
+        String name = store.name(row);
+        Released copy = released();
+        return copy == null ? name : copy.name();
     }
 
     public String getContactNumber() {
-        return contactNumber;
+        String contactNumber = store.contactNumber(row);
+        Released copy = released();
+        return copy == null ? contactNumber : copy.contactNumber();
     }
 
     public int getAge() {
-        return age;
+        int age = store.age(row);
+        Released copy = released();
+        return copy == null ? age : copy.age();
     }
 
     public String getRoom() {
-        return room;
+        String room = store.room(row);
+        Released copy = released();
+        return copy == null ? room : copy.room();
     }
 
     public String getTimeSlot() {
-        return timeSlot;
+        String timeSlot = store.timeSlot(row);
+        Released copy = released();
+        return copy == null ? timeSlot : copy.timeSlot();
     }
 
     public int getQueueNumber() {
-        return queueNumber;
+        int queueNumber = store.queueNumber(row);
+        Released copy = released();
+        return copy == null ? queueNumber : copy.queueNumber();
     }
 
-    public String getStatus() {
-        return status;
+    public ReservationStatus getStatus() {
+        ReservationStatus status = store.status(row);
+        Released copy = released();
+        return copy == null ? status : copy.status();
     }
 
-    public void setStatus(String status) {
-        this.status = status;
+    /**
+     * @throws IllegalStateException if the reservation already left the {@code WAITING} state
+     */
+    public void setStatus(ReservationStatus status) {
+        Released copy = released;
+        if (copy != null) {
+            throw new IllegalStateException("Reservation " + getReservationId() + " cannot go from "
+                + copy.status() + " to " + status);
+        }
+        store.transition(row, generation, status);
     }
 
     public String getReservationId() {
-        return reservationId;
+        return ReservationStore.formatReservationId(getQueueNumber());
+    }
+
+    /**
+     * Checked after reading the row: if the store released it in the meantime,
+     * the value just read may belong to the row's next reservation.
+     */
+    private Released released() {
+        VarHandle.acquireFence();
+        return released;
     }
-}
 
+    ReservationStore store() {
+        return store;
+    }
+
+    int row() {
+        return row;
+    }
+
+    boolean isReleased() {
+        return released != null;
+    }
+
+    void detach(String name, String contactNumber, int age, String room, String timeSlot, int queueNumber,
+                ReservationStatus status) {
+        released = new Released(name, contactNumber, age, room, timeSlot, queueNumber, status);
+    }
+}
@@ -0,0 +1,564 @@
+package model;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * FIFO reservation queue sharded by (room, time slot). Each shard is its own
+ * intrusive doubly linked list, so work on one room's slot never walks another
+ * shard. The global FIFO order is queue-number order: the head and positions
+ * come from the rank index in O(log n), and iteration is a k-way merge of the
+ * shards. Entries are also indexed by customer name and queue number so that
+ * lookups and removal from the middle of the queue are O(1) instead of a scan.
+ * <p>
+ * Thread-safe with striped locking: each shard has its own lock, so desks
+ * working different rooms or slots never block each other, and the global
+ * indexes are concurrent structures. Queue numbers are allocated atomically by
+ * {@link #nextQueueNumber()}. Iteration is weakly consistent and never throws
+ * {@link java.util.ConcurrentModificationException}.
+ * <p>
+ * Changes are published to registered {@link QueueListener}s on the mutating
+ * thread after the shard lock is released. A reservation's removal is never
+ * published before its addition, but when several threads mutate at once,
+ * events for different reservations may arrive in any order, so UI listeners
+ * should hop onto the EDT and treat positions as hints (see
+ * {@code view.EdtQueueListener}).
+ */
+public class ReservationQueue extends AbstractQueue<Reservation> {
+
+    private record ShardKey(String room, String timeSlot) {
+    }
+
+    private static final class Shard {
+        final ShardKey key;
+        final ReentrantLock lock = new ReentrantLock();
+        volatile Node head;
+        Node tail;
+        int size;
+
+        Shard(ShardKey key) {
+            this.key = key;
+        }
+    }
+
+    private static final class Node {
+        final Reservation reservation;
+        final Shard shard;
+        Node prev;
+        // Left intact on unlink so weakly consistent iterators can move past a removed node
+        volatile Node next;
+        volatile boolean linked;
+
+        Node(Reservation reservation, Shard shard) {
+            this.reservation = reservation;
+            this.shard = shard;
+        }
+
+        int queueNumber() {
+            return reservation.getQueueNumber();
+        }
+    }
+
+    private static final Comparator<Node> QUEUE_ORDER = Comparator.comparingInt(Node::queueNumber);
+
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicInteger nextQueueNumber = new AtomicInteger(1);
+
+    // Shards are never dropped once created, so a shard reference can't go stale;
+    // there are only as many as (room, slot) pairs in the catalog
+    private final ConcurrentMap<ShardKey, Shard> shards = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, List<Shard>> shardsByRoom = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, Node> byQueueNumber = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentSkipListSet<Node>> byName = new ConcurrentHashMap<>();
+    private final QueueRankIndex rankIndex = new QueueRankIndex();
+    private final List<QueueListener> listeners = new CopyOnWriteArrayList<>();
+
+    public void addQueueListener(QueueListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeQueueListener(QueueListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Atomically allocates the next queue number. Safe to call from any thread.
+     */
+    public int nextQueueNumber() {
+        return nextQueueNumber.getAndIncrement();
+    }
+
+    /**
+     * Returns the number {@link #nextQueueNumber()} would hand out next, without allocating it.
+     */
+    public int peekNextQueueNumber() {
+        return nextQueueNumber.get();
+    }
+
+    /**
+     * Moves the allocator forward so it never hands out a number below
+     * {@code queueNumber}, e.g. after restoring a snapshot in which numbers were
+     * used by reservations that have since left the queue.
+     */
+    public void advanceQueueNumber(int queueNumber) {
+        nextQueueNumber.accumulateAndGet(queueNumber, Math::max);
+    }
+
+    /**
+     * Enqueues a reservation, normally under a number from {@link #nextQueueNumber()}.
+     * Offering a number the queue did not hand out (e.g. when restoring saved
+     * state) moves the allocator past it.
+     */
+    @Override
+    public boolean offer(Reservation reservation) {
+        if (reservation == null) {
+            throw new NullPointerException("reservation");
+        }
+        int queueNumber = reservation.getQueueNumber();
+        Shard shard = shardFor(reservation.getRoom(), reservation.getTimeSlot());
+        Node node = new Node(reservation, shard);
+        if (byQueueNumber.putIfAbsent(queueNumber, node) != null) {
+            throw new IllegalArgumentException("Queue number already present: Q-" + queueNumber);
+        }
+        nextQueueNumber.accumulateAndGet(queueNumber + 1, Math::max);
+        String key = nameKey(reservation.getName());
+        if (key != null) {
+            byName.compute(key, (k, nodes) -> {
+                if (nodes == null) {
+                    nodes = new ConcurrentSkipListSet<>(QUEUE_ORDER);
+                }
+                nodes.add(node);
+                return nodes;
+            });
+        }
+
+        // The node's monitor is held until the add event is out, so a racing
+        // removal of the same entry can never be published before its addition
+        synchronized (node) {
+            int position;
+            shard.lock.lock();
+            try {
+                linkInOrder(shard, node);
+                rankIndex.add(queueNumber);
+                position = rankIndex.countBefore(queueNumber);
+            } finally {
+                shard.lock.unlock();
+            }
+            size.incrementAndGet();
+
+            for (QueueListener listener : listeners) {
+                listener.reservationAdded(reservation, position);
+            }
+            if (position == 0) {
+                fireHeadChanged();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Reservation poll() {
+        while (true) {
+            int queueNumber = rankIndex.select(0);
+            if (queueNumber < 0) {
+                return null;
+            }
+            Node first = byQueueNumber.get(queueNumber);
+            // On a lost race with another remover, retry; the rank index catches up immediately
+            if (first != null && unlink(first)) {
+                return first.reservation;
+            }
+        }
+    }
+
+    @Override
+    public Reservation peek() {
+        while (true) {
+            int queueNumber = rankIndex.select(0);
+            if (queueNumber < 0) {
+                return null;
+            }
+            Node first = byQueueNumber.get(queueNumber);
+            if (first != null && first.linked) {
+                return first.reservation;
+            }
+        }
+    }
+
+    /**
+     * Returns the front of the queue for one room and time slot, or null.
+     */
+    public Reservation peek(String room, String timeSlot) {
+        Shard shard = shards.get(new ShardKey(room, timeSlot));
+        if (shard == null) {
+            return null;
+        }
+        Node first = shard.head;
+        return first == null ? null : first.reservation;
+    }
+
+    /**
+     * Removes and returns the front of the queue for one room and time slot, or null.
+     * Only that shard's lock is taken.
+     */
+    public Reservation poll(String room, String timeSlot) {
+        Shard shard = shards.get(new ShardKey(room, timeSlot));
+        if (shard == null) {
+            return null;
+        }
+        while (true) {
+            Node first = shard.head;
+            if (first == null) {
+                return null;
+            }
+            if (unlink(first)) {
+                return first.reservation;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof Reservation)) {
+            return false;
+        }
+        Reservation reservation = (Reservation) o;
+        Node node = byQueueNumber.get(reservation.getQueueNumber());
+        return node != null && node.linked && node.reservation == reservation;
+    }
+
+    /**
+     * Removes the given reservation wherever it sits in the queue in O(1).
+     * When two threads race to remove the same entry exactly one of them wins.
+     */
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof Reservation)) {
+            return false;
+        }
+        Reservation reservation = (Reservation) o;
+        Node node = byQueueNumber.get(reservation.getQueueNumber());
+        if (node == null || node.reservation != reservation) {
+            return false;
+        }
+        return unlink(node);
+    }
+
+    /**
+     * Removes every entry, publishing a removal event for each one.
+     */
+    @Override
+    public void clear() {
+        while (poll() != null) {
+            // drain
+        }
+    }
+
+    /**
+     * Returns the earliest queued reservation whose trimmed name equals the given name, or null.
+     */
+    public Reservation findByName(String name) {
+        String key = nameKey(name);
+        if (key == null) {
+            return null;
+        }
+        ConcurrentSkipListSet<Node> nodes = byName.get(key);
+        if (nodes == null) {
+            return null;
+        }
+        for (Node node : nodes) {
+            if (node.linked) {
+                return node.reservation;
+            }
+        }
+        return null;
+    }
+
+    public Reservation findByQueueNumber(int queueNumber) {
+        Node node = byQueueNumber.get(queueNumber);
+        return node == null || !node.linked ? null : node.reservation;
+    }
+
+    /**
+     * Returns how many queued reservations are ahead of the given one (0 = front of the queue).
+     */
+    public int positionOf(Reservation reservation) {
+        return rankIndex.countBefore(reservation.getQueueNumber());
+    }
+
+    /**
+     * Returns the reservation at the given 0-based position in the queue, or null.
+     */
+    public Reservation get(int position) {
+        int queueNumber = rankIndex.select(position);
+        return queueNumber < 0 ? null : findByQueueNumber(queueNumber);
+    }
+
+    /**
+     * Returns the reservations queued for the given room across all of its time slots, in FIFO order.
+     */
+    public List<Reservation> getByRoom(String room) {
+        List<Shard> roomShards = shardsByRoom.get(room);
+        if (roomShards == null || roomShards.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Reservation> result = new ArrayList<>();
+        for (Iterator<Node> it = new MergeIterator(roomShards); it.hasNext(); ) {
+            result.add(it.next().reservation);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the reservations queued for one room and time slot, in FIFO order.
+     */
+    public List<Reservation> getBySlot(String room, String timeSlot) {
+        Shard shard = shards.get(new ShardKey(room, timeSlot));
+        if (shard == null) {
+            return Collections.emptyList();
+        }
+        shard.lock.lock();
+        try {
+            List<Reservation> result = new ArrayList<>(shard.size);
+            for (Node node = shard.head; node != null; node = node.next) {
+                result.add(node.reservation);
+            }
+            return result;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    public int sizeOf(String room, String timeSlot) {
+        Shard shard = shards.get(new ShardKey(room, timeSlot));
+        if (shard == null) {
+            return 0;
+        }
+        shard.lock.lock();
+        try {
+            return shard.size;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the queued reservations matching the predicate, in FIFO order.
+     * Safe to call from a background thread.
+     */
+    public List<Reservation> filter(Predicate<Reservation> predicate) {
+        List<Reservation> result = new ArrayList<>();
+        for (Iterator<Node> it = new MergeIterator(shards.values()); it.hasNext(); ) {
+            Reservation reservation = it.next().reservation;
+            if (predicate.test(reservation)) {
+                result.add(reservation);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Global FIFO iteration, merged across shards by queue number. The iterator
+     * is weakly consistent: it is safe to use while other threads mutate the
+     * queue, and reflects some of the changes made after it was created.
+     */
+    @Override
+    public Iterator<Reservation> iterator() {
+        return new Iterator<Reservation>() {
+            private final MergeIterator merge = new MergeIterator(shards.values());
+            private Node lastReturned;
+
+            @Override
+            public boolean hasNext() {
+                return merge.hasNext();
+            }
+
+            @Override
+            public Reservation next() {
+                lastReturned = merge.next();
+                return lastReturned.reservation;
+            }
+
+            @Override
+            public void remove() {
+                if (lastReturned == null) {
+                    throw new IllegalStateException();
+                }
+                unlink(lastReturned);
+                lastReturned = null;
+            }
+        };
+    }
+
+    /**
+     * K-way merge of shard lists by queue number. Each shard is kept in
+     * queue-number order, so the heap only ever holds one node per shard.
+     * Nodes unlinked after they were reached are skipped; their next pointer
+     * still leads back into the live list.
+     */
+    private static final class MergeIterator implements Iterator<Node> {
+        private final PriorityQueue<Node> frontier;
+
+        MergeIterator(Collection<Shard> shards) {
+            frontier = new PriorityQueue<>(Math.max(1, shards.size()), QUEUE_ORDER);
+            for (Shard shard : shards) {
+                Node first = shard.head;
+                if (first != null) {
+                    frontier.add(first);
+                }
+            }
+            skipUnlinked();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !frontier.isEmpty();
+        }
+
+        @Override
+        public Node next() {
+            Node node = frontier.poll();
+            if (node == null) {
+                throw new NoSuchElementException();
+            }
+            Node successor = node.next;
+            if (successor != null) {
+                frontier.add(successor);
+            }
+            skipUnlinked();
+            return node;
+        }
+
+        private void skipUnlinked() {
+            while (!frontier.isEmpty() && !frontier.peek().linked) {
+                Node stale = frontier.poll();
+                Node successor = stale.next;
+                if (successor != null) {
+                    frontier.add(successor);
+                }
+            }
+        }
+    }
+
+    private Shard shardFor(String room, String timeSlot) {
+        return shards.computeIfAbsent(new ShardKey(room, timeSlot), key -> {
+            Shard shard = new Shard(key);
+            if (room != null) {
+                shardsByRoom.computeIfAbsent(room, k -> new CopyOnWriteArrayList<>()).add(shard);
+            }
+            return shard;
+        });
+    }
+
+    /**
+     * Links a node into its shard. Numbers are allocated before the shard lock is
+     * taken, so two producers can arrive out of order; walking back from the tail
+     * keeps the shard sorted, and in practice stops after zero or one step.
+     * Caller holds the shard lock.
+     */
+    private static void linkInOrder(Shard shard, Node node) {
+        Node after = shard.tail;
+        while (after != null && after.queueNumber() > node.queueNumber()) {
+            after = after.prev;
+        }
+        Node before = after == null ? shard.head : after.next;
+        node.prev = after;
+        node.next = before;
+        if (before == null) {
+            shard.tail = node;
+        } else {
+            before.prev = node;
+        }
+        node.linked = true;
+        // Publish last so iterators never reach a half-linked node
+        if (after == null) {
+            shard.head = node;
+        } else {
+            after.next = node;
+        }
+        shard.size++;
+    }
+
+    /**
+     * Unlinks the node if it is still queued. Returns false when another thread got there first.
+     */
+    private boolean unlink(Node node) {
+        Reservation reservation = node.reservation;
+        Shard shard = node.shard;
+        int position;
+
+        shard.lock.lock();
+        try {
+            if (!node.linked) {
+                return false;
+            }
+            node.linked = false;
+            position = rankIndex.countBefore(reservation.getQueueNumber());
+            rankIndex.remove(reservation.getQueueNumber());
+
+            if (node.prev == null) {
+                shard.head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                shard.tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            shard.size--;
+            byQueueNumber.remove(reservation.getQueueNumber(), node);
+        } finally {
+            shard.lock.unlock();
+        }
+        size.decrementAndGet();
+        String key = nameKey(reservation.getName());
+        if (key != null) {
+            byName.computeIfPresent(key, (k, nodes) -> {
+                nodes.remove(node);
+                return nodes.isEmpty() ? null : nodes;
+            });
+        }
+
+        synchronized (node) {
+            for (QueueListener listener : listeners) {
+                listener.reservationRemoved(reservation, position);
+            }
+            if (position == 0) {
+                fireHeadChanged();
+            }
+        }
+        return true;
+    }
+
+    private void fireHeadChanged() {
+        Reservation newHead = peek();
+        for (QueueListener listener : listeners) {
+            listener.headChanged(newHead);
+        }
+    }
+
+    private static String nameKey(String name) {
+        return name == null ? null : name.trim();
+    }
+}
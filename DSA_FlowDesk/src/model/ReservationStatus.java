@@ -0,0 +1,26 @@
+package model;
+
+/**
+ * Lifecycle of a reservation. Every reservation starts out {@code WAITING}
+ * in the queue and leaves it exactly once, for one of the other states.
+ */
+public enum ReservationStatus {
+    WAITING,
+    APPROVED,
+    CANCELLED,
+    REMOVED;
+
+    private static final ReservationStatus[] BY_CODE = values();
+
+    public boolean canBecome(ReservationStatus next) {
+        return this == WAITING && next != WAITING;
+    }
+
+    byte code() {
+        return (byte) ordinal();
+    }
+
+    static ReservationStatus fromCode(byte code) {
+        return BY_CODE[code];
+    }
+}
@@ -0,0 +1,275 @@
+package model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Struct-of-arrays storage for reservations. Each reservation is a row: its
+ * name and contact number are kept as references, age and queue number as
+ * {@code int}s, room and time slot as 16-bit codes into dictionaries of the
+ * distinct values (a handful of rooms and slots, shared by every row), and its
+ * {@link ReservationStatus} packed with the row's generation into an int. The "R0001"-style ID is
+ * derived from the queue number when asked for. {@link Reservation} is a small view of a row, so a
+ * million waiting entries cost a few dozen bytes each plus their name and contact.
+ * <p>
+ * Rows live in fixed-size pages that never move once allocated, so reads need
+ * no locking; only {@link #create} and {@link #release} are synchronized. Status
+ * changes are a compare-and-set on the row's status word, and the store keeps a
+ * count of rows in each status.
+ * <p>
+ * Finished rows are handed back with {@link #release} and reused by later
+ * {@link #create} calls. Released reservations first copy their values into
+ * their view, so anything still holding one keeps reading the same data; the
+ * row's generation is bumped so a stale view can no longer change its status.
+ */
+public class ReservationStore {
+
+    private static final int PAGE_BITS = 12;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private static final VarHandle STATUS = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final int STATUS_BITS = 8;
+    private static final int STATUS_MASK = (1 << STATUS_BITS) - 1;
+
+    private static final class Page {
+        final String[] names = new String[PAGE_SIZE];
+        final String[] contactNumbers = new String[PAGE_SIZE];
+        final int[] ages = new int[PAGE_SIZE];
+        final int[] queueNumbers = new int[PAGE_SIZE];
+        final char[] rooms = new char[PAGE_SIZE];
+        final char[] timeSlots = new char[PAGE_SIZE];
+        // generation << STATUS_BITS | status code
+        final int[] statuses = new int[PAGE_SIZE];
+    }
+
+    /**
+     * Interns strings to 16-bit codes. Code 0 is null. Codes are only handed out
+     * under the store's lock; lookups by code read a volatile array and don't lock.
+     */
+    private static final class Dictionary {
+        private final String label;
+        private final Map<String, Character> codes = new HashMap<>();
+        private volatile String[] values = new String[16];
+        private int size = 1;
+
+        Dictionary(String label) {
+            this.label = label;
+        }
+
+        char codeOf(String value) {
+            if (value == null) {
+                return 0;
+            }
+            Character code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            if (size > Character.MAX_VALUE) {
+                throw new IllegalStateException("Too many distinct " + label + " values");
+            }
+            String[] current = values;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+            current[size] = value;
+            values = current;
+            codes.put(value, (char) size);
+            return (char) size++;
+        }
+
+        String valueOf(char code) {
+            return values[code];
+        }
+    }
+
+    private final Dictionary rooms = new Dictionary("room");
+    private final Dictionary timeSlots = new Dictionary("time slot");
+    private final AtomicIntegerArray statusCounts = new AtomicIntegerArray(ReservationStatus.values().length);
+    private volatile Page[] pages = new Page[4];
+    private int rowCount;
+    private int[] freeRows = new int[16];
+    private int freeCount;
+
+    /**
+     * Adds a waiting reservation, in a released row if there is one, and returns its view.
+     */
+    public synchronized Reservation create(String name, String contactNumber, int age, String room, String timeSlot, int queueNumber) {
+        Page[] current = pages;
+        int row;
+        if (freeCount > 0) {
+            row = freeRows[--freeCount];
+        } else {
+            row = rowCount++;
+            int pageIndex = row >>> PAGE_BITS;
+            if (pageIndex == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+            if (current[pageIndex] == null) {
+                current[pageIndex] = new Page();
+            }
+        }
+        Page page = current[row >>> PAGE_BITS];
+        int slot = row & PAGE_MASK;
+        int generation = page.statuses[slot] >>> STATUS_BITS;
+        page.names[slot] = name;
+        page.contactNumbers[slot] = contactNumber;
+        page.ages[slot] = age;
+        page.queueNumbers[slot] = queueNumber;
+        page.rooms[slot] = rooms.codeOf(room);
+        page.timeSlots[slot] = timeSlots.codeOf(timeSlot);
+        page.statuses[slot] = generation << STATUS_BITS | ReservationStatus.WAITING.code();
+        statusCounts.incrementAndGet(ReservationStatus.WAITING.ordinal());
+        // Volatile write publishes the row (and any new page) to readers
+        pages = current;
+        return new Reservation(this, row, generation);
+    }
+
+    /**
+     * Gives a finished reservation's row back for reuse. The reservation keeps
+     * its values and status; only its storage moves. Status counts are left as
+     * they are. Releasing a reservation twice does nothing.
+     *
+     * @throws IllegalArgumentException if the reservation belongs to another store
+     * @throws IllegalStateException    if it is still waiting
+     */
+    public synchronized void release(Reservation reservation) {
+        if (reservation.store() != this) {
+            throw new IllegalArgumentException("Reservation belongs to another store");
+        }
+        if (reservation.isReleased()) {
+            return;
+        }
+        int row = reservation.row();
+        ReservationStatus status = status(row);
+        if (status == ReservationStatus.WAITING) {
+            throw new IllegalStateException("Reservation " + reservationId(row) + " is still waiting");
+        }
+        free(reservation, row, status);
+    }
+
+    /**
+     * Drops a waiting reservation that never joined the queue (e.g. its join
+     * couldn't be journaled) and gives its row back for reuse. It no longer
+     * counts as waiting.
+     *
+     * @throws IllegalArgumentException if the reservation belongs to another store
+     * @throws IllegalStateException    if it already left the {@code WAITING} state
+     */
+    public synchronized void discard(Reservation reservation) {
+        if (reservation.store() != this) {
+            throw new IllegalArgumentException("Reservation belongs to another store");
+        }
+        if (reservation.isReleased()) {
+            return;
+        }
+        int row = reservation.row();
+        ReservationStatus status = status(row);
+        if (status != ReservationStatus.WAITING) {
+            throw new IllegalStateException("Reservation " + reservationId(row) + " is already " + status);
+        }
+        statusCounts.decrementAndGet(ReservationStatus.WAITING.ordinal());
+        free(reservation, row, status);
+    }
+
+    private void free(Reservation reservation, int row, ReservationStatus status) {
+        // Copy first, then bump the generation: a reader that sees the reused row also sees the copy
+        reservation.detach(name(row), contactNumber(row), age(row), room(row), timeSlot(row), queueNumber(row), status);
+        Page page = page(row);
+        int slot = row & PAGE_MASK;
+        page.names[slot] = null;
+        page.contactNumbers[slot] = null;
+        int generation = (page.statuses[slot] >>> STATUS_BITS) + 1;
+        STATUS.setVolatile(page.statuses, slot, generation << STATUS_BITS | status.code());
+        if (freeCount == freeRows.length) {
+            freeRows = Arrays.copyOf(freeRows, freeRows.length * 2);
+        }
+        freeRows[freeCount++] = row;
+    }
+
+    /**
+     * Number of rows holding a reservation that hasn't been released.
+     */
+    public synchronized int size() {
+        return rowCount - freeCount;
+    }
+
+    /**
+     * Number of rows currently in the given status.
+     */
+    public int count(ReservationStatus status) {
+        return statusCounts.get(status.ordinal());
+    }
+
+    String name(int row) {
+        return page(row).names[row & PAGE_MASK];
+    }
+
+    String contactNumber(int row) {
+        return page(row).contactNumbers[row & PAGE_MASK];
+    }
+
+    int age(int row) {
+        return page(row).ages[row & PAGE_MASK];
+    }
+
+    int queueNumber(int row) {
+        return page(row).queueNumbers[row & PAGE_MASK];
+    }
+
+    String room(int row) {
+        return rooms.valueOf(page(row).rooms[row & PAGE_MASK]);
+    }
+
+    String timeSlot(int row) {
+        return timeSlots.valueOf(page(row).timeSlots[row & PAGE_MASK]);
+    }
+
+    ReservationStatus status(int row) {
+        return ReservationStatus.fromCode((byte) ((int) STATUS.getVolatile(page(row).statuses, row & PAGE_MASK) & STATUS_MASK));
+    }
+
+    /**
+     * Moves a row to {@code next}, provided it is still in {@code generation}.
+     *
+     * @throws IllegalStateException if the row's current status can't become {@code next},
+     *                               including when another thread changed it first,
+     *                               or the row was released
+     */
+    void transition(int row, int generation, ReservationStatus next) {
+        int[] statuses = page(row).statuses;
+        int slot = row & PAGE_MASK;
+        int word = (int) STATUS.getVolatile(statuses, slot);
+        ReservationStatus current = ReservationStatus.fromCode((byte) (word & STATUS_MASK));
+        if (word >>> STATUS_BITS != generation || !current.canBecome(next)
+                || !STATUS.compareAndSet(statuses, slot, word, generation << STATUS_BITS | next.code())) {
+            throw new IllegalStateException("Reservation " + reservationId(row) + " cannot go from "
+                + status(row) + " to " + next);
+        }
+        statusCounts.decrementAndGet(current.ordinal());
+        statusCounts.incrementAndGet(next.ordinal());
+    }
+
+    String reservationId(int row) {
+        return formatReservationId(queueNumber(row));
+    }
+
+    /**
+     * "R" and the queue number zero-padded to four digits, without {@code String.format}.
+     */
+    static String formatReservationId(int queueNumber) {
+        String digits = Integer.toString(queueNumber);
+        if (queueNumber < 0 || digits.length() >= 4) {
+            return "R" + digits;
+        }
+        return "R000".substring(0, 5 - digits.length()) + digits;
+    }
+
+    private Page page(int row) {
+        return pages[row >>> PAGE_BITS];
+    }
+}
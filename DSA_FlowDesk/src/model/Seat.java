@@ -1,20 +1,53 @@
 package model;
 
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A room's time slot, either on whatever day it is when asked (seats made
+ * with the public constructor, i.e. the catalog) or on one fixed date (seats
+ * from {@link #on}). Occupancy lives in a {@link SeatCalendar} track; a new
+ * seat's track is in a calendar of its own until {@link SeatInventory#addSeat}
+ * moves it into the inventory's calendar.
+ */
 public class Seat {
     private String roomCode;
     private String building;
     private String timeSlot;
-    private int capacity;
-    private int availableSeats;
+    private final TimeSlot slot;
     private String features;
+    // Null for "today", resolved on every call so a long-running catalog rolls over at midnight
+    private final LocalDate date;
+    // Re-homed once, by SeatInventory.addSeat, before the seat is published
+    private SeatCalendar calendar;
+    private int track;
 
-    public Seat(String roomCode, String building, String timeSlot, int capacity, int availableSeats, String features) {
+    /**
+     * A catalog seat with {@code availableSeats} of its {@code capacity} left on
+     * {@code availableOn}; every other date starts with all seats free.
+     */
+    public Seat(String roomCode, String building, String timeSlot, int capacity, LocalDate availableOn,
+                int availableSeats, String features) {
         this.roomCode = roomCode;
         this.building = building;
         this.timeSlot = timeSlot;
-        this.capacity = capacity;
-        this.availableSeats = availableSeats;
+        this.slot = TimeSlot.parse(timeSlot);
         this.features = features;
+        this.date = null;
+        this.calendar = new SeatCalendar();
+        this.track = calendar.addTrack(capacity);
+        calendar.setAvailable(track, availableOn, availableSeats);
+    }
+
+    private Seat(Seat seat, LocalDate date) {
+        this.roomCode = seat.roomCode;
+        this.building = seat.building;
+        this.timeSlot = seat.timeSlot;
+        this.slot = seat.slot;
+        this.features = seat.features;
+        this.date = date;
+        this.calendar = seat.calendar;
+        this.track = seat.track;
     }
 
     public String getRoomCode() {
@@ -29,26 +62,93 @@ public class Seat {
         return timeSlot;
     }
 
+    public TimeSlot getSlot() {
+        return slot;
+    }
+
+    /**
+     * The seat's date: its fixed date, or today's for a catalog seat.
+     */
+    public LocalDate getDate() {
+        return date == null ? LocalDate.now() : date;
+    }
+
     public int getCapacity() {
-        return capacity;
+        return calendar.getCapacity(track);
     }
 
     public int getAvailableSeats() {
-        return availableSeats;
+        return calendar.available(track, getDate());
     }
 
     public String getFeatures() {
         return features;
     }
+
+    /**
+     * The same room and slot on another date.
+     */
+    public Seat on(LocalDate otherDate) {
+        return otherDate.equals(date) ? this : new Seat(this, otherDate);
+    }
+
+    /**
+     * Days on which this room and slot has bookings, in date order; see {@link SeatCalendar#bookedDates}.
+     */
+    public List<LocalDate> getBookedDates() {
+        return calendar.bookedDates(track);
+    }
+
+    /**
+     * Seats left on each day from {@code from} to {@code to}, inclusive.
+     */
+    public int[] getAvailableSeatsBetween(LocalDate from, LocalDate to) {
+        return calendar.availableBetween(track, from, to);
+    }
+
+    /**
+     * Earliest day from {@code from} to {@code to} with a free seat, and that seat; null if all are full.
+     */
+    public SeatCalendar.Booking findFirstFree(LocalDate from, LocalDate to) {
+        return calendar.findFirstFree(track, from, to);
+    }
     
     public void setAvailableSeats(int availableSeats) {
-        this.availableSeats = availableSeats;
+        calendar.setAvailable(track, getDate(), availableSeats);
     }
     
     public void decreaseAvailableSeats() {
-        if (this.availableSeats > 0) {
-            this.availableSeats--;
+        tryReserve();
+    }
+    
+    /**
+     * Atomically takes one seat if any is left.
+     */
+    public boolean tryReserve() {
+        return reserveFirstFree() >= 0;
+    }
+
+    /**
+     * Atomically takes the lowest free seat and returns its number, or -1 if none is left.
+     */
+    public int reserveFirstFree() {
+        return calendar.reserveFirstFree(track, getDate());
+    }
+    
+    /**
+     * Atomically gives one seat back, never exceeding capacity.
+     */
+    public boolean release() {
+        return calendar.releaseLast(track, getDate()) >= 0;
+    }
+
+    /**
+     * Moves this seat's track, bookings included, into {@code target}.
+     */
+    void moveTo(SeatCalendar target) {
+        if (target != calendar) {
+            track = target.copyTrack(calendar, track);
+            calendar = target;
         }
     }
 }
-
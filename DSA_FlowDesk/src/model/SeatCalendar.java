@@ -0,0 +1,291 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Seat occupancy by room, time slot and date. Each (room, slot) is a track
+ * with a fixed capacity, and each day of a track is a bitset with one bit per
+ * seat (set = taken) in an {@link AtomicLongArray}, so seats are taken and
+ * given back with a CAS instead of a lock. A day's bitset is only created
+ * when it is first booked: an untouched day is entirely free and costs
+ * nothing, so bookings can be taken any distance ahead. Bits past the capacity
+ * in the last word are kept set, which makes a free seat simply a zero bit.
+ * <p>
+ * Tracks are identified by the index {@link #addTrack} returns; {@link Seat}
+ * is a view of one track on one date, or on whichever day it is.
+ */
+public class SeatCalendar {
+
+    /**
+     * A free (or just taken) seat: its number within the track, on a date.
+     */
+    public record Booking(LocalDate date, int seatNumber) {}
+
+    private static final class Track {
+        final int capacity;
+        final int words;
+        // Bits of the last word past the capacity; always set
+        final long padding;
+        final Map<LocalDate, AtomicLongArray> days = new ConcurrentHashMap<>();
+
+        Track(int capacity) {
+            this.capacity = capacity;
+            this.words = Math.max(1, (capacity + 63) >>> 6);
+            int used = capacity - ((words - 1) << 6);
+            this.padding = used == 64 ? 0 : -1L << used;
+        }
+
+        AtomicLongArray newDay() {
+            AtomicLongArray day = new AtomicLongArray(words);
+            day.set(words - 1, padding);
+            return day;
+        }
+
+        int free(AtomicLongArray day) {
+            if (day == null) {
+                return capacity;
+            }
+            int taken = -Long.bitCount(padding);
+            for (int i = 0; i < words; i++) {
+                taken += Long.bitCount(day.get(i));
+            }
+            return capacity - taken;
+        }
+
+        int firstFree(AtomicLongArray day) {
+            if (day == null) {
+                return capacity > 0 ? 0 : -1;
+            }
+            for (int i = 0; i < words; i++) {
+                long word = day.get(i);
+                if (word != -1L) {
+                    return (i << 6) + Long.numberOfTrailingZeros(~word);
+                }
+            }
+            return -1;
+        }
+    }
+
+    private volatile Track[] tracks = new Track[0];
+
+    /**
+     * Adds a (room, slot) track of {@code capacity} seats and returns its index.
+     */
+    public synchronized int addTrack(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+        }
+        return append(new Track(capacity));
+    }
+
+    /**
+     * Adds a copy of another calendar's track, bookings included, and returns its index here.
+     */
+    public synchronized int copyTrack(SeatCalendar source, int sourceTrack) {
+        Track from = source.track(sourceTrack);
+        Track copy = new Track(from.capacity);
+        from.days.forEach((date, day) -> {
+            AtomicLongArray words = new AtomicLongArray(copy.words);
+            for (int i = 0; i < copy.words; i++) {
+                words.set(i, day.get(i));
+            }
+            copy.days.put(date, words);
+        });
+        return append(copy);
+    }
+
+    public int getCapacity(int track) {
+        return track(track).capacity;
+    }
+
+    public int available(int track, LocalDate date) {
+        Track t = track(track);
+        return t.free(t.days.get(date));
+    }
+
+    /**
+     * Seats left on each day from {@code from} to {@code to}, inclusive.
+     */
+    public int[] availableBetween(int track, LocalDate from, LocalDate to) {
+        Track t = track(track);
+        int[] available = new int[Math.max(0, (int) (to.toEpochDay() - from.toEpochDay()) + 1)];
+        LocalDate date = from;
+        for (int i = 0; i < available.length; i++, date = date.plusDays(1)) {
+            available[i] = t.free(t.days.get(date));
+        }
+        return available;
+    }
+
+    public boolean isTaken(int track, LocalDate date, int seatNumber) {
+        Track t = track(track);
+        checkSeat(t, seatNumber);
+        AtomicLongArray day = t.days.get(date);
+        return day != null && (day.get(seatNumber >>> 6) & 1L << seatNumber) != 0;
+    }
+
+    /**
+     * Finds the earliest day from {@code from} to {@code to} (inclusive) with a
+     * free seat, and its lowest free seat, without taking it. Returns null if every day is full.
+     */
+    public Booking findFirstFree(int track, LocalDate from, LocalDate to) {
+        Track t = track(track);
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            int seat = t.firstFree(t.days.get(date));
+            if (seat >= 0) {
+                return new Booking(date, seat);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Atomically takes the lowest free seat on the date and returns its number, or -1 if the day is full.
+     */
+    public int reserveFirstFree(int track, LocalDate date) {
+        Track t = track(track);
+        if (t.capacity == 0) {
+            return -1;
+        }
+        AtomicLongArray day = t.days.computeIfAbsent(date, d -> t.newDay());
+        for (int i = 0; i < t.words; i++) {
+            long word;
+            while ((word = day.get(i)) != -1L) {
+                int bit = Long.numberOfTrailingZeros(~word);
+                if (day.compareAndSet(i, word, word | 1L << bit)) {
+                    return (i << 6) + bit;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Atomically takes a specific seat. Returns false if it is already taken.
+     */
+    public boolean reserve(int track, LocalDate date, int seatNumber) {
+        Track t = track(track);
+        checkSeat(t, seatNumber);
+        AtomicLongArray day = t.days.computeIfAbsent(date, d -> t.newDay());
+        int i = seatNumber >>> 6;
+        long mask = 1L << seatNumber;
+        long word;
+        do {
+            word = day.get(i);
+            if ((word & mask) != 0) {
+                return false;
+            }
+        } while (!day.compareAndSet(i, word, word | mask));
+        return true;
+    }
+
+    /**
+     * Atomically gives a specific seat back. Returns false if it was free.
+     */
+    public boolean release(int track, LocalDate date, int seatNumber) {
+        Track t = track(track);
+        checkSeat(t, seatNumber);
+        AtomicLongArray day = t.days.get(date);
+        if (day == null) {
+            return false;
+        }
+        int i = seatNumber >>> 6;
+        long mask = 1L << seatNumber;
+        long word;
+        do {
+            word = day.get(i);
+            if ((word & mask) == 0) {
+                return false;
+            }
+        } while (!day.compareAndSet(i, word, word & ~mask));
+        return true;
+    }
+
+    /**
+     * Atomically gives back the highest-numbered taken seat and returns its number, or -1 if none was taken.
+     */
+    public int releaseLast(int track, LocalDate date) {
+        Track t = track(track);
+        AtomicLongArray day = t.days.get(date);
+        if (day == null) {
+            return -1;
+        }
+        for (int i = t.words - 1; i >= 0; i--) {
+            long padding = i == t.words - 1 ? t.padding : 0;
+            long word;
+            long taken;
+            while ((taken = (word = day.get(i)) & ~padding) != 0) {
+                int bit = 63 - Long.numberOfLeadingZeros(taken);
+                if (day.compareAndSet(i, word, word & ~(1L << bit))) {
+                    return (i << 6) + bit;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Resets the date to the lowest {@code capacity - available} seats taken.
+     * Meant for loading saved state; not atomic with concurrent bookings of that day.
+     */
+    public void setAvailable(int track, LocalDate date, int available) {
+        Track t = track(track);
+        if (available < 0 || available > t.capacity) {
+            throw new IllegalArgumentException("Available seats must be between 0 and " + t.capacity + ": " + available);
+        }
+        AtomicLongArray day = t.days.computeIfAbsent(date, d -> t.newDay());
+        int taken = t.capacity - available;
+        for (int i = 0; i < t.words; i++) {
+            int bits = Math.min(64, Math.max(0, taken - (i << 6)));
+            long word = bits == 64 ? -1L : (1L << bits) - 1;
+            day.set(i, i == t.words - 1 ? word | t.padding : word);
+        }
+    }
+
+    /**
+     * Days of the track that have been booked (and not pruned), in date order.
+     * Every other day is entirely free.
+     */
+    public List<LocalDate> bookedDates(int track) {
+        List<LocalDate> dates = new ArrayList<>(track(track).days.keySet());
+        Collections.sort(dates);
+        return dates;
+    }
+
+    /**
+     * Drops every day before {@code date} from every track.
+     */
+    public void pruneBefore(LocalDate date) {
+        for (Track t : tracks) {
+            t.days.keySet().removeIf(day -> day.isBefore(date));
+        }
+    }
+
+    public int getTrackCount() {
+        return tracks.length;
+    }
+
+    private int append(Track track) {
+        Track[] current = tracks;
+        Track[] next = Arrays.copyOf(current, current.length + 1);
+        next[current.length] = track;
+        tracks = next;
+        return current.length;
+    }
+
+    private Track track(int track) {
+        return tracks[track];
+    }
+
+    private static void checkSeat(Track track, int seatNumber) {
+        if (seatNumber < 0 || seatNumber >= track.capacity) {
+            throw new IndexOutOfBoundsException("Seat " + seatNumber + " out of range for capacity " + track.capacity);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Seat catalog indexed by (room code, time slot). Availability checks and
+ * reserve/release are O(1) and atomic per seat, so callers never scan the
+ * catalog or race on check-then-decrement. Text search goes through a
+ * {@link SeatSearchIndex} kept in step with the catalog; time queries go
+ * through a {@link SlotIntervalTree} over every seat and a sorted map of
+ * slots per room. Slots given as text are parsed with {@link TimeSlot#tryParse},
+ * so "10:00-12:00" finds the "10:00 - 12:00" seat. Occupancy by date is kept
+ * in one {@link SeatCalendar} shared by every seat in the catalog.
+ */
+public class SeatInventory {
+
+    private record SlotKey(String roomCode, TimeSlot slot) {}
+
+    private final List<Seat> seats = new ArrayList<>();
+    private final Map<SlotKey, Seat> bySlot = new ConcurrentHashMap<>();
+    private final Map<String, NavigableMap<TimeSlot, Seat>> byRoom = new ConcurrentHashMap<>();
+    private final SlotIntervalTree<Seat> slotIndex = new SlotIntervalTree<>();
+    private final SeatSearchIndex searchIndex = new SeatSearchIndex();
+    private final SeatCalendar calendar = new SeatCalendar();
+
+    /**
+     * Adds a seat to the catalog. Each (room, slot) pair may only be added once.
+     */
+    public void addSeat(Seat seat) {
+        addSeats(List.of(seat));
+    }
+
+    /**
+     * Adds a batch of seats, e.g. a whole catalog, building the slot index once
+     * rather than once per seat. Either every seat is added or, if any (room,
+     * slot) pair is already taken, none is.
+     */
+    public synchronized void addSeats(Collection<Seat> batch) {
+        List<SlotKey> claimed = new ArrayList<>(batch.size());
+        for (Seat seat : batch) {
+            SlotKey key = new SlotKey(seat.getRoomCode(), seat.getSlot());
+            if (bySlot.putIfAbsent(key, seat) != null) {
+                for (SlotKey added : claimed) {
+                    bySlot.remove(added);
+                }
+                throw new IllegalArgumentException("Seat already exists for " + seat.getRoomCode() + " at " + seat.getTimeSlot());
+            }
+            claimed.add(key);
+        }
+        for (Seat seat : batch) {
+            seat.moveTo(calendar);
+            seats.add(seat);
+            byRoom.computeIfAbsent(seat.getRoomCode(), room -> new ConcurrentSkipListMap<>()).put(seat.getSlot(), seat);
+            searchIndex.add(seat);
+        }
+        slotIndex.addAll(batch, Seat::getSlot);
+    }
+
+    /**
+     * Returns the seat for a room and slot, or null if there is none (or the slot doesn't parse).
+     */
+    public Seat getSeat(String roomCode, String timeSlot) {
+        TimeSlot slot = TimeSlot.tryParse(timeSlot);
+        return slot == null ? null : getSeat(roomCode, slot);
+    }
+
+    public Seat getSeat(String roomCode, TimeSlot slot) {
+        return bySlot.get(new SlotKey(roomCode, slot));
+    }
+
+    public boolean hasAvailableSeats(String roomCode, String timeSlot) {
+        Seat seat = getSeat(roomCode, timeSlot);
+        return seat != null && seat.getAvailableSeats() > 0;
+    }
+
+    /**
+     * Atomically takes one seat today. Returns false if the slot is unknown or full.
+     */
+    public boolean reserve(String roomCode, String timeSlot) {
+        return reserve(roomCode, timeSlot, LocalDate.now());
+    }
+
+    /**
+     * Atomically takes one seat on {@code date}. Returns false if the slot is unknown or full that day.
+     */
+    public boolean reserve(String roomCode, String timeSlot, LocalDate date) {
+        Seat seat = getSeat(roomCode, timeSlot);
+        return seat != null && seat.on(date).tryReserve();
+    }
+
+    /**
+     * Atomically gives one of today's seats back. Returns false if the slot is unknown or already empty.
+     */
+    public boolean release(String roomCode, String timeSlot) {
+        return release(roomCode, timeSlot, LocalDate.now());
+    }
+
+    /**
+     * Atomically gives one seat on {@code date} back. Returns false if the slot is unknown or already empty that day.
+     */
+    public boolean release(String roomCode, String timeSlot, LocalDate date) {
+        Seat seat = getSeat(roomCode, timeSlot);
+        return seat != null && seat.on(date).release();
+    }
+
+    /**
+     * Drops booking state for days before {@code date}; see {@link SeatCalendar#pruneBefore}.
+     */
+    public void pruneBefore(LocalDate date) {
+        calendar.pruneBefore(date);
+    }
+
+    /**
+     * Returns the seats whose slot overlaps {@code window}, ordered by slot, in O(log n + k).
+     */
+    public List<Seat> findOverlapping(TimeSlot window) {
+        return slotIndex.overlapping(window);
+    }
+
+    /**
+     * Returns the seats with a seat left whose slot overlaps {@code window}, ordered by slot.
+     */
+    public List<Seat> findAvailable(TimeSlot window) {
+        List<Seat> available = new ArrayList<>();
+        slotIndex.forEachOverlapping(window, seat -> {
+            if (seat.getAvailableSeats() > 0) {
+                available.add(seat);
+            }
+        });
+        return available;
+    }
+
+    /**
+     * Returns the room's earliest slot starting at or after {@code fromMinute}
+     * that still has a seat, or null. Finding the first later slot is
+     * O(log n); full slots after it are stepped over.
+     */
+    public Seat nextAvailable(String roomCode, int fromMinute) {
+        NavigableMap<TimeSlot, Seat> slots = byRoom.get(roomCode);
+        if (slots == null || fromMinute >= TimeSlot.MINUTES_PER_DAY) {
+            return null;
+        }
+        int start = Math.max(fromMinute, 0);
+        // The shortest slot at `start` sorts before every other slot starting there
+        TimeSlot from = new TimeSlot(start, start + 1);
+        for (Seat seat : slots.tailMap(from, true).values()) {
+            if (seat.getAvailableSeats() > 0) {
+                return seat;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the earliest day from {@code from} to {@code to} on which a room
+     * whose slot covers {@code window} has a free seat, and returns that seat
+     * on that day (ties go to the earlier slot), or null. Each candidate's search stops at
+     * the best day found so far.
+     */
+    public Seat findFirstFree(TimeSlot window, LocalDate from, LocalDate to) {
+        Seat best = null;
+        LocalDate bestDate = null;
+        for (Seat seat : slotIndex.overlapping(window)) {
+            if (!seat.getSlot().contains(window)) {
+                continue;
+            }
+            SeatCalendar.Booking booking = seat.findFirstFree(from, bestDate == null ? to : bestDate.minusDays(1));
+            if (booking != null) {
+                best = seat;
+                bestDate = booking.date();
+                if (!bestDate.isAfter(from)) {
+                    break;
+                }
+            }
+        }
+        return best == null ? null : best.on(bestDate);
+    }
+
+    public SeatCalendar getCalendar() {
+        return calendar;
+    }
+
+    /**
+     * Returns the seats whose room code, building, time slot or features contain
+     * the query (case-insensitive), in catalog order.
+     */
+    public List<Seat> search(String query) {
+        return searchIndex.search(query);
+    }
+
+    /**
+     * Returns the catalog in insertion order.
+     */
+    public synchronized List<Seat> getAllSeats() {
+        return Collections.unmodifiableList(new ArrayList<>(seats));
+    }
+
+    public int size() {
+        return bySlot.size();
+    }
+}
@@ -0,0 +1,138 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inverted n-gram index over seat room code, building, time slot and features.
+ * Every 1-, 2- and 3-character substring of each (lowercased) field maps to the
+ * set of seats containing it, so a substring query is answered by intersecting
+ * posting bitsets instead of lowercasing and scanning the whole catalog.
+ * Queries longer than three characters are verified against the pre-lowercased
+ * text of the candidate seats only.
+ */
+public class SeatSearchIndex {
+
+    private static final int MAX_GRAM = 3;
+    // Separates fields in the stored text so a query never matches across two fields
+    private static final char FIELD_SEPARATOR = '\u0000';
+
+    private final List<Seat> seats = new ArrayList<>();
+    private final List<String> searchText = new ArrayList<>();
+    private final Map<Seat, Integer> ids = new IdentityHashMap<>();
+    private final Map<String, BitSet> postings = new HashMap<>();
+    private final BitSet live = new BitSet();
+
+    public synchronized void add(Seat seat) {
+        if (ids.containsKey(seat)) {
+            return;
+        }
+        int id = seats.size();
+        seats.add(seat);
+        ids.put(seat, id);
+        live.set(id);
+
+        String[] fields = fieldsOf(seat);
+        searchText.add(String.join(String.valueOf(FIELD_SEPARATOR), fields));
+        for (String field : fields) {
+            for (int start = 0; start < field.length(); start++) {
+                for (int length = 1; length <= MAX_GRAM && start + length <= field.length(); length++) {
+                    postings.computeIfAbsent(field.substring(start, start + length), g -> new BitSet()).set(id);
+                }
+            }
+        }
+    }
+
+    public synchronized void remove(Seat seat) {
+        Integer id = ids.remove(seat);
+        if (id == null) {
+            return;
+        }
+        live.clear(id);
+        String[] fields = fieldsOf(seat);
+        for (String field : fields) {
+            for (int start = 0; start < field.length(); start++) {
+                for (int length = 1; length <= MAX_GRAM && start + length <= field.length(); length++) {
+                    BitSet posting = postings.get(field.substring(start, start + length));
+                    if (posting != null) {
+                        posting.clear(id);
+                        if (posting.isEmpty()) {
+                            postings.remove(field.substring(start, start + length));
+                        }
+                    }
+                }
+            }
+        }
+        seats.set(id, null);
+        searchText.set(id, null);
+    }
+
+    /**
+     * Returns the seats whose room code, building, time slot or features contain
+     * the query (case-insensitive), in catalog order. A blank query matches everything.
+     */
+    public synchronized List<Seat> search(String query) {
+        String normalized = query == null ? "" : query.trim().toLowerCase();
+        BitSet matches;
+        if (normalized.isEmpty()) {
+            matches = live;
+        } else if (normalized.length() <= MAX_GRAM) {
+            matches = postings.get(normalized);
+        } else {
+            matches = candidatesFor(normalized);
+        }
+        if (matches == null || matches.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        boolean verify = normalized.length() > MAX_GRAM;
+        List<Seat> result = new ArrayList<>(matches.cardinality());
+        for (int id = matches.nextSetBit(0); id >= 0; id = matches.nextSetBit(id + 1)) {
+            if (!verify || searchText.get(id).contains(normalized)) {
+                result.add(seats.get(id));
+            }
+        }
+        return result;
+    }
+
+    public synchronized int size() {
+        return ids.size();
+    }
+
+    private BitSet candidatesFor(String normalized) {
+        BitSet candidates = null;
+        for (int start = 0; start + MAX_GRAM <= normalized.length(); start++) {
+            BitSet posting = postings.get(normalized.substring(start, start + MAX_GRAM));
+            if (posting == null) {
+                return null;
+            }
+            if (candidates == null) {
+                candidates = (BitSet) posting.clone();
+            } else {
+                candidates.and(posting);
+            }
+            if (candidates.isEmpty()) {
+                return null;
+            }
+        }
+        return candidates;
+    }
+
+    private static String[] fieldsOf(Seat seat) {
+        return new String[] {
+            lower(seat.getRoomCode()),
+            lower(seat.getBuilding()),
+            lower(seat.getTimeSlot()),
+            lower(seat.getFeatures())
+        };
+    }
+
+    private static String lower(String value) {
+        return value == null ? "" : value.toLowerCase();
+    }
+}
@@ -0,0 +1,144 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Interval tree over time slots, kept implicitly in arrays sorted by slot:
+ * the node for an index range is its midpoint, and each node records the
+ * latest end minute within its range. An overlap query skips any subtree that
+ * ends before the window starts or begins after it ends, so it costs
+ * O(log n + k) for k results.
+ * <p>
+ * Slots are added rarely (when the catalog is loaded), so {@link #add}
+ * rebuilds the arrays in O(n) and publishes them in one volatile write;
+ * queries never lock. Load a catalog with {@link #addAll}, which sorts the
+ * batch once and merges it in, rather than paying O(n) per entry.
+ */
+public class SlotIntervalTree<T> {
+
+    private record Tree(TimeSlot[] slots, Object[] values, int[] maxEnd) {}
+
+    private volatile Tree tree = new Tree(new TimeSlot[0], new Object[0], new int[0]);
+
+    public synchronized void add(TimeSlot slot, T value) {
+        Tree current = tree;
+        int size = current.slots().length;
+        // Insert after equal slots, so entries for the same slot stay in the order they were added
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (current.slots()[mid].compareTo(slot) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int at = low;
+
+        TimeSlot[] slots = new TimeSlot[size + 1];
+        Object[] values = new Object[size + 1];
+        System.arraycopy(current.slots(), 0, slots, 0, at);
+        System.arraycopy(current.values(), 0, values, 0, at);
+        slots[at] = slot;
+        values[at] = value;
+        System.arraycopy(current.slots(), at, slots, at + 1, size - at);
+        System.arraycopy(current.values(), at, values, at + 1, size - at);
+
+        int[] maxEnd = new int[size + 1];
+        buildMaxEnd(slots, maxEnd, 0, size + 1);
+        tree = new Tree(slots, values, maxEnd);
+    }
+
+    /**
+     * Adds every value under the slot {@code slotOf} gives it, in O((n + m) + m log m)
+     * for m values added to n. Values with equal slots keep the order they were added in.
+     */
+    public synchronized void addAll(Collection<? extends T> batch, Function<? super T, TimeSlot> slotOf) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<T> added = new ArrayList<>(batch);
+        // Stable sort, so equal slots stay in batch order
+        added.sort(Comparator.comparing(slotOf));
+
+        Tree current = tree;
+        int size = current.slots().length;
+        TimeSlot[] slots = new TimeSlot[size + added.size()];
+        Object[] values = new Object[slots.length];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < slots.length; k++) {
+            // Existing entries go first among equal slots, as with add
+            if (j == added.size() || (i < size && current.slots()[i].compareTo(slotOf.apply(added.get(j))) <= 0)) {
+                slots[k] = current.slots()[i];
+                values[k] = current.values()[i++];
+            } else {
+                slots[k] = slotOf.apply(added.get(j));
+                values[k] = added.get(j++);
+            }
+        }
+
+        int[] maxEnd = new int[slots.length];
+        buildMaxEnd(slots, maxEnd, 0, slots.length);
+        tree = new Tree(slots, values, maxEnd);
+    }
+
+    /**
+     * Returns the values whose slot overlaps {@code window}, ordered by slot.
+     */
+    public List<T> overlapping(TimeSlot window) {
+        List<T> result = new ArrayList<>();
+        forEachOverlapping(window, result::add);
+        return result;
+    }
+
+    /**
+     * Passes each value whose slot overlaps {@code window} to {@code action}, ordered by slot.
+     */
+    public void forEachOverlapping(TimeSlot window, Consumer<? super T> action) {
+        Tree current = tree;
+        visit(current, 0, current.slots().length, window, action);
+    }
+
+    public int size() {
+        return tree.slots().length;
+    }
+
+    private static int buildMaxEnd(TimeSlot[] slots, int[] maxEnd, int low, int high) {
+        if (low >= high) {
+            return Integer.MIN_VALUE;
+        }
+        int mid = (low + high) >>> 1;
+        int end = Math.max(slots[mid].endMinute(),
+            Math.max(buildMaxEnd(slots, maxEnd, low, mid), buildMaxEnd(slots, maxEnd, mid + 1, high)));
+        maxEnd[mid] = end;
+        return end;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void visit(Tree current, int low, int high, TimeSlot window, Consumer<? super T> action) {
+        if (low >= high) {
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        if (current.maxEnd()[mid] <= window.startMinute()) {
+            return;
+        }
+        visit(current, low, mid, window, action);
+        TimeSlot slot = current.slots()[mid];
+        if (slot.startMinute() >= window.endMinute()) {
+            // Everything to the right starts even later
+            return;
+        }
+        if (slot.endMinute() > window.startMinute()) {
+            action.accept((T) current.values()[mid]);
+        }
+        visit(current, mid + 1, high, window, action);
+    }
+}
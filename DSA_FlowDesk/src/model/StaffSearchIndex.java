@@ -0,0 +1,170 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Multi-field index for the staff queue search. Reservations are indexed by
+ * lowercased name tokens, contact number, queue number and lowercased room,
+ * each in a sorted map so a query is answered with prefix range scans instead
+ * of a pass over the whole queue. Register it as a {@link QueueListener} and it
+ * follows enqueues and removals incrementally.
+ */
+public class StaffSearchIndex implements QueueListener {
+
+    private final NavigableMap<String, Set<Reservation>> nameTokens = new TreeMap<>();
+    private final NavigableMap<String, Set<Reservation>> contacts = new TreeMap<>();
+    private final NavigableMap<String, Set<Reservation>> queueNumbers = new TreeMap<>();
+    private final NavigableMap<String, Set<Reservation>> rooms = new TreeMap<>();
+    private final NavigableMap<Integer, Reservation> byQueueNumber = new TreeMap<>();
+
+    @Override
+    public synchronized void reservationAdded(Reservation reservation, int position) {
+        byQueueNumber.put(reservation.getQueueNumber(), reservation);
+        for (String token : nameTokensOf(reservation)) {
+            addTo(nameTokens, token, reservation);
+        }
+        addTo(contacts, reservation.getContactNumber(), reservation);
+        addTo(queueNumbers, String.valueOf(reservation.getQueueNumber()), reservation);
+        addTo(rooms, lower(reservation.getRoom()), reservation);
+    }
+
+    @Override
+    public synchronized void reservationRemoved(Reservation reservation, int position) {
+        if (byQueueNumber.remove(reservation.getQueueNumber()) == null) {
+            return;
+        }
+        for (String token : nameTokensOf(reservation)) {
+            removeFrom(nameTokens, token, reservation);
+        }
+        removeFrom(contacts, reservation.getContactNumber(), reservation);
+        removeFrom(queueNumbers, String.valueOf(reservation.getQueueNumber()), reservation);
+        removeFrom(rooms, lower(reservation.getRoom()), reservation);
+    }
+
+    /**
+     * Returns the queued reservations matching the query, in queue-number order.
+     * A reservation matches when every word of the query starts one of its name
+     * words, or the query is a prefix of its contact number, queue number
+     * ("12" or "Q-12") or room. A blank query returns the whole queue.
+     */
+    public synchronized List<Reservation> search(String query) {
+        String q = query == null ? "" : query.trim().toLowerCase();
+        if (q.isEmpty()) {
+            return new ArrayList<>(byQueueNumber.values());
+        }
+
+        Set<Reservation> matches = new HashSet<>(matchNameTokens(q));
+        collectPrefix(contacts, q, matches);
+        collectPrefix(queueNumbers, stripQueuePrefix(q), matches);
+        collectPrefix(rooms, q, matches);
+
+        List<Reservation> result = new ArrayList<>(matches);
+        result.sort((a, b) -> Integer.compare(a.getQueueNumber(), b.getQueueNumber()));
+        return result;
+    }
+
+    /**
+     * Tests a single reservation against the query using the same rules as {@link #search}.
+     */
+    public boolean matches(Reservation reservation, String query) {
+        String q = query == null ? "" : query.trim().toLowerCase();
+        if (q.isEmpty()) {
+            return true;
+        }
+        // An empty queue-number prefix ("q-") matches nothing, as in collectPrefix
+        String queuePrefix = stripQueuePrefix(q);
+        if (reservation.getContactNumber() != null && reservation.getContactNumber().startsWith(q)
+                || !queuePrefix.isEmpty() && String.valueOf(reservation.getQueueNumber()).startsWith(queuePrefix)
+                || lower(reservation.getRoom()).startsWith(q)) {
+            return true;
+        }
+        List<String> tokens = nameTokensOf(reservation);
+        for (String word : q.split("\\s+")) {
+            boolean found = false;
+            for (String token : tokens) {
+                if (token.startsWith(word)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Set<Reservation> matchNameTokens(String q) {
+        Set<Reservation> result = null;
+        for (String word : q.split("\\s+")) {
+            Set<Reservation> wordMatches = new HashSet<>();
+            collectPrefix(nameTokens, word, wordMatches);
+            if (result == null) {
+                result = wordMatches;
+            } else {
+                result.retainAll(wordMatches);
+            }
+            if (result.isEmpty()) {
+                return Collections.emptySet();
+            }
+        }
+        return result == null ? Collections.emptySet() : result;
+    }
+
+    private static void collectPrefix(NavigableMap<String, Set<Reservation>> index, String prefix, Collection<Reservation> out) {
+        if (prefix.isEmpty()) {
+            return;
+        }
+        for (Set<Reservation> reservations : index.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            out.addAll(reservations);
+        }
+    }
+
+    private static String stripQueuePrefix(String q) {
+        return q.startsWith("q-") ? q.substring(2) : q;
+    }
+
+    private static List<String> nameTokensOf(Reservation reservation) {
+        List<String> tokens = new ArrayList<>();
+        String name = lower(reservation.getName()).trim();
+        if (!name.isEmpty()) {
+            for (String token : name.split("\\s+")) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static String lower(String value) {
+        return value == null ? "" : value.toLowerCase();
+    }
+
+    private static void addTo(Map<String, Set<Reservation>> index, String key, Reservation reservation) {
+        if (key == null) {
+            return;
+        }
+        index.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(reservation);
+    }
+
+    private static void removeFrom(Map<String, Set<Reservation>> index, String key, Reservation reservation) {
+        if (key == null) {
+            return;
+        }
+        Set<Reservation> reservations = index.get(key);
+        if (reservations != null) {
+            reservations.remove(reservation);
+            if (reservations.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package model;
+
+/**
+ * A daily time window, stored as minutes since midnight: {@code [startMinute, endMinute)}.
+ * Parsed from and printed as the catalog's display form, e.g. "10:00 - 12:00".
+ */
+public record TimeSlot(int startMinute, int endMinute) implements Comparable<TimeSlot> {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    public TimeSlot {
+        if (startMinute < 0 || endMinute > MINUTES_PER_DAY || startMinute >= endMinute) {
+            throw new IllegalArgumentException("Invalid time slot: " + startMinute + "-" + endMinute);
+        }
+    }
+
+    /**
+     * Parses "HH:mm - HH:mm" (spaces around the dash optional).
+     *
+     * @throws IllegalArgumentException if the text is not a valid slot
+     */
+    public static TimeSlot parse(String text) {
+        TimeSlot slot = tryParse(text);
+        if (slot == null) {
+            throw new IllegalArgumentException("Invalid time slot: " + text);
+        }
+        return slot;
+    }
+
+    /**
+     * Like {@link #parse}, but returns null instead of throwing.
+     */
+    public static TimeSlot tryParse(String text) {
+        if (text == null) {
+            return null;
+        }
+        int dash = text.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        int start = parseTime(text, 0, dash);
+        int end = parseTime(text, dash + 1, text.length());
+        if (start < 0 || end < 0 || start >= end) {
+            return null;
+        }
+        return new TimeSlot(start, end);
+    }
+
+    /**
+     * Minutes since midnight for "H:mm"/"HH:mm" in {@code text[from, to)}, trimmed; -1 if malformed.
+     */
+    private static int parseTime(String text, int from, int to) {
+        while (from < to && text.charAt(from) == ' ') {
+            from++;
+        }
+        while (to > from && text.charAt(to - 1) == ' ') {
+            to--;
+        }
+        int colon = text.indexOf(':', from);
+        if (colon < 0 || colon >= to || colon - from < 1 || colon - from > 2 || to - colon != 3) {
+            return -1;
+        }
+        int hours = digits(text, from, colon);
+        int minutes = digits(text, colon + 1, to);
+        if (hours < 0 || minutes < 0 || minutes >= 60 || hours * 60 + minutes > MINUTES_PER_DAY) {
+            return -1;
+        }
+        return hours * 60 + minutes;
+    }
+
+    private static int digits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    public boolean overlaps(TimeSlot other) {
+        return startMinute < other.endMinute && other.startMinute < endMinute;
+    }
+
+    public boolean contains(TimeSlot other) {
+        return startMinute <= other.startMinute && other.endMinute <= endMinute;
+    }
+
+    public int durationMinutes() {
+        return endMinute - startMinute;
+    }
+
+    @Override
+    public int compareTo(TimeSlot other) {
+        int byStart = Integer.compare(startMinute, other.startMinute);
+        return byStart != 0 ? byStart : Integer.compare(endMinute, other.endMinute);
+    }
+
+    @Override
+    public String toString() {
+        return formatTime(startMinute) + " - " + formatTime(endMinute);
+    }
+
+    private static String formatTime(int minute) {
+        int hours = minute / 60;
+        int minutes = minute % 60;
+        return (hours < 10 ? "0" : "") + hours + (minutes < 10 ? ":0" : ":") + minutes;
+    }
+}
@@ -1,22 +1,33 @@
 package model;
 
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
 public class Transaction {
-    private String id;
+    private static final DateTimeFormatter DATE_FORMAT =
+        DateTimeFormatter.ofPattern("MM/dd/yyyy").withZone(ZoneId.systemDefault());
+    private static final DateTimeFormatter TIME_FORMAT =
+        DateTimeFormatter.ofPattern("HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    private long sequence;
     private String userName;
     private String description;
-    private String date;
-    private String time;
+    private long timestamp; // epoch millis; date/time text is formatted on demand
 
-    public Transaction(String id, String userName, String description, String date, String time) {
-        this.id = id;
+    public Transaction(long sequence, String userName, String description, long timestamp) {
+        this.sequence = sequence;
         this.userName = userName;
         this.description = description;
-        this.date = date;
-        this.time = time;
+        this.timestamp = timestamp;
+    }
+
+    public long getSequence() {
+        return sequence;
     }
 
     public String getId() {
-        return id;
+        return "T" + String.format("%03d", sequence);
     }
 
     public String getUserName() {
@@ -27,13 +38,15 @@ public class Transaction {
         return description;
     }
 
+    public long getTimestamp() {
+        return timestamp;
+    }
+
     public String getDate() {
-        return date;
+        return DATE_FORMAT.format(Instant.ofEpochMilli(timestamp));
     }
 
     public String getTime() {
-        return time;
+        return TIME_FORMAT.format(Instant.ofEpochMilli(timestamp));
     }
 }
-
-
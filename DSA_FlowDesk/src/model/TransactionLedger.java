@@ -0,0 +1,114 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only transaction ledger. Appends are O(1) (amortized while the buffer
+ * grows) and IDs come from a monotonic atomic counter. Only the newest
+ * {@code retention} transactions are kept; older ones are overwritten in place.
+ * Reads are reverse-chronological (index 0 is the newest). Methods are
+ * synchronized so any thread may append.
+ */
+public class TransactionLedger extends AbstractList<Transaction> implements RandomAccess {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final AtomicLong nextSequence = new AtomicLong(1);
+    private final int retention;
+    private Transaction[] entries;
+    private int next;
+    private int count;
+
+    public TransactionLedger(int retention) {
+        if (retention <= 0) {
+            throw new IllegalArgumentException("Retention must be positive: " + retention);
+        }
+        this.retention = retention;
+        this.entries = new Transaction[Math.min(INITIAL_CAPACITY, retention)];
+    }
+
+    /**
+     * Records a new transaction stamped with the current time and returns it.
+     */
+    public Transaction append(String userName, String description) {
+        return append(userName, description, System.currentTimeMillis());
+    }
+
+    /**
+     * Records a transaction with an explicit timestamp, e.g. when replaying the journal.
+     */
+    public synchronized Transaction append(String userName, String description, long timestamp) {
+        Transaction transaction = new Transaction(nextSequence.getAndIncrement(), userName, description, timestamp);
+        store(transaction);
+        return transaction;
+    }
+
+    /**
+     * Re-inserts a transaction saved in a snapshot, keeping its sequence number.
+     * Restore oldest first; later appends continue after the highest sequence.
+     */
+    public synchronized void restore(Transaction transaction) {
+        nextSequence.accumulateAndGet(transaction.getSequence() + 1, Math::max);
+        store(transaction);
+    }
+
+    public int getRetention() {
+        return retention;
+    }
+
+    /**
+     * Total number of transactions ever appended, including ones past retention.
+     */
+    public synchronized long getAppendedCount() {
+        return nextSequence.get() - 1;
+    }
+
+    /**
+     * The transaction that was at the given newest-first index when
+     * {@code appendedCount} had been reached, skipping any appended since; null
+     * if it has fallen out of retention.
+     */
+    public synchronized Transaction getAsOf(long appendedCount, int index) {
+        long shifted = index + (getAppendedCount() - appendedCount);
+        return shifted >= 0 && shifted < count ? get((int) shifted) : null;
+    }
+
+    @Override
+    public synchronized Transaction get(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+        }
+        int slot = next - 1 - index;
+        return entries[slot < 0 ? slot + entries.length : slot];
+    }
+
+    @Override
+    public synchronized int size() {
+        return count;
+    }
+
+    private void store(Transaction transaction) {
+        if (count == entries.length && entries.length < retention) {
+            grow();
+        }
+        entries[next] = transaction;
+        next = next + 1 == entries.length ? 0 : next + 1;
+        if (count < entries.length) {
+            count++;
+        }
+        modCount++;
+    }
+
+    private void grow() {
+        // Unroll the ring oldest-first into a larger array
+        Transaction[] grown = new Transaction[(int) Math.min((long) entries.length * 2, retention)];
+        for (int i = 0; i < count; i++) {
+            int slot = next + i;
+            grown[i] = entries[slot >= entries.length ? slot - entries.length : slot];
+        }
+        entries = grown;
+        next = count;
+    }
+}
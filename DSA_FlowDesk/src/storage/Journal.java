@@ -0,0 +1,590 @@
+package storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import model.Reservation;
+import model.Transaction;
+
+/**
+ * Append-only write-ahead journal of queue events, transactions and log lines,
+ * kept in fixed-size memory-mapped segment files.
+ * <p>
+ * The {@code append*} methods encode a record straight into the mapped
+ * segment (strings included, see {@link Utf8}), so an append allocates
+ * nothing and costs about a microsecond. Once written to the mapping a record
+ * survives a process crash; a single flusher thread forces the newly written
+ * range of the file to disk in one go (group commit), so fsyncs stay amortized
+ * at any rate. Callers that need to know a record is on disk call
+ * {@link #awaitDurable}.
+ * <p>
+ * A segment starts with a magic/version header; each record is framed as
+ * {@code [int length][int crc32][payload]} (see {@link JournalRecord} for the
+ * payload), and a zero length marks the end of the written part. A record that
+ * doesn't fit starts the next segment, as does {@link #checkpoint}, which cuts
+ * the journal so that a snapshot can replace everything before the cut. On
+ * open, the journal ends at the first torn or corrupt record (a crash
+ * mid-write, or pages of a later record reaching the disk first); anything
+ * after it is discarded.
+ * <p>
+ * Segments made redundant by a snapshot are deleted once nothing in the
+ * journal maps them any more. Where a delete still fails (Windows refuses to
+ * delete a file while a mapping of it awaits garbage collection), the segment
+ * is left out of replay and the delete is retried on the next
+ * {@link #deleteSegmentsBefore}.
+ */
+public class Journal implements Closeable {
+
+    public static final int DEFAULT_SEGMENT_BYTES = 16 << 20;
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int SEGMENT_MAGIC = 0x46444A31; // "FDJ1"
+    // 2: seat dates in ENQUEUE and SEAT_RESERVE records
+    private static final int SEGMENT_VERSION = 2;
+    private static final int SEGMENT_HEADER_BYTES = 8;
+    private static final int FRAME_HEADER_BYTES = 8;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long recoveredRecords;
+
+    private final Object lock = new Object();
+    private final CRC32 crc = new CRC32();
+    private MappedByteBuffer segment;
+    private ByteBuffer checksumView;
+    private int segmentIndex;
+    // Segments numbered below this are redundant, even if their file is still there
+    private int firstLive;
+    private int writeOffset;
+    private int unforcedFrom;
+    // Earlier segments whose tail was written but not yet forced when they were rolled
+    private List<UnforcedRange> sealed = new ArrayList<>();
+    private long appendedSequence;
+    private long durableSequence;
+    private boolean flusherIdle;
+    private boolean closed;
+    private IOException failure;
+
+    private final Thread flusher;
+
+    private record UnforcedRange(MappedByteBuffer segment, int from, int to) {
+    }
+
+    private record RecoveredSegment(int end, long records, boolean clean) {
+    }
+
+    private Journal(Path directory, int segmentBytes, int firstSegment) throws IOException {
+        if (segmentBytes <= SEGMENT_HEADER_BYTES + FRAME_HEADER_BYTES) {
+            throw new IllegalArgumentException("Segment size too small: " + segmentBytes);
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(directory);
+
+        // Segments before firstSegment are covered by a snapshot; a crash may
+        // have left them behind between writing the snapshot and pruning
+        firstLive = firstSegment;
+        deleteRedundantSegments(firstSegment);
+
+        List<Path> segments = liveSegments(firstSegment);
+        long records = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            Path path = segments.get(i);
+            MappedByteBuffer mapped = map(path, segmentBytes, FileChannel.MapMode.READ_WRITE);
+            if (mapped.getInt(0) == SEGMENT_MAGIC && mapped.getInt(4) != SEGMENT_VERSION) {
+                // Written in another record layout: refuse it rather than misread or overwrite it
+                throw new IOException("Unsupported journal segment version " + mapped.getInt(4) + ": " + path);
+            }
+            RecoveredSegment recovered = recover(mapped);
+            records += recovered.records();
+            boolean torn = !recovered.clean();
+            if (torn || i == segments.size() - 1) {
+                // The log ends here: keep appending to this segment and drop any after it
+                for (int j = i + 1; j < segments.size(); j++) {
+                    Files.delete(segments.get(j));
+                }
+                if (torn) {
+                    writeSegmentHeader(mapped);
+                    zero(mapped, Math.max(recovered.end(), SEGMENT_HEADER_BYTES));
+                    mapped.force();
+                }
+                useSegment(mapped, segmentNumber(path), Math.max(recovered.end(), SEGMENT_HEADER_BYTES));
+                unforcedFrom = writeOffset;
+                break;
+            }
+        }
+        this.recoveredRecords = records;
+        if (segment == null) {
+            startSegment(firstSegment);
+        }
+
+        flusher = new Thread(this::flushLoop, "flowdesk-journal");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    public static Journal open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_BYTES);
+    }
+
+    public static Journal open(Path directory, int segmentBytes) throws IOException {
+        return open(directory, segmentBytes, 1);
+    }
+
+    /**
+     * Opens the journal, discarding segments numbered below {@code firstSegment}
+     * (the value {@link #checkpoint} returned for the snapshot being restored).
+     */
+    public static Journal open(Path directory, int segmentBytes, int firstSegment) throws IOException {
+        return new Journal(directory, segmentBytes, firstSegment);
+    }
+
+    /**
+     * Number of intact records found on disk when the journal was opened.
+     */
+    public long getRecoveredRecords() {
+        return recoveredRecords;
+    }
+
+    /**
+     * Feeds every record on disk, oldest first, to the consumer. The record is
+     * a view over the mapped segment that moves on once the callback returns,
+     * so copy out whatever must be kept. Call before appending, typically once
+     * at startup to rebuild in-memory state.
+     */
+    public long replay(Consumer<JournalRecord> consumer) throws IOException {
+        JournalRecord record = new JournalRecord();
+        long count = 0;
+        int first;
+        synchronized (lock) {
+            first = firstLive;
+        }
+        for (Path path : liveSegments(first)) {
+            ByteBuffer buffer;
+            synchronized (lock) {
+                buffer = segmentNumber(path) == segmentIndex ? segment.duplicate() : null;
+            }
+            if (buffer == null) {
+                buffer = map(path, 0, FileChannel.MapMode.READ_ONLY);
+            }
+            int offset = SEGMENT_HEADER_BYTES;
+            while (offset + FRAME_HEADER_BYTES <= buffer.limit()) {
+                int length = buffer.getInt(offset);
+                if (length <= 0) {
+                    break;
+                }
+                record.moveTo(buffer, offset + FRAME_HEADER_BYTES);
+                consumer.accept(record);
+                offset += FRAME_HEADER_BYTES + length;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Journals a reservation joining the queue; {@code seatDate} is the day a
+     * seat was taken for it, or null if none was. Like every {@code append*}
+     * method, returns the record's sequence number without waiting for the disk.
+     *
+     * @throws JournalException if the journal is closed or a previous write failed
+     */
+    public long appendEnqueue(long timestamp, Reservation reservation, LocalDate seatDate) {
+        int flags = seatDate != null ? JournalRecord.SEAT_RESERVED : 0;
+        int length = JournalRecord.stringsOffset(JournalRecord.Type.ENQUEUE) + (seatDate != null ? 8 : 0)
+            + Utf8.encodedSize(reservation.getName()) + Utf8.encodedSize(reservation.getContactNumber())
+            + Utf8.encodedSize(reservation.getRoom()) + Utf8.encodedSize(reservation.getTimeSlot());
+        synchronized (lock) {
+            int start = beginRecord(JournalRecord.Type.ENQUEUE, timestamp, length);
+            segment.putInt(reservation.getQueueNumber());
+            segment.putInt(reservation.getAge());
+            segment.put((byte) flags);
+            if (seatDate != null) {
+                segment.putLong(seatDate.toEpochDay());
+            }
+            Utf8.put(segment, reservation.getName());
+            Utf8.put(segment, reservation.getContactNumber());
+            Utf8.put(segment, reservation.getRoom());
+            Utf8.put(segment, reservation.getTimeSlot());
+            return endRecord(start, length);
+        }
+    }
+
+    /**
+     * Journals an APPROVE, REMOVE or CANCEL of the reservation with the given queue number.
+     */
+    public long appendQueueEvent(JournalRecord.Type type, long timestamp, int queueNumber) {
+        if (type != JournalRecord.Type.APPROVE && type != JournalRecord.Type.REMOVE && type != JournalRecord.Type.CANCEL) {
+            throw new IllegalArgumentException("Not a queue event: " + type);
+        }
+        int length = JournalRecord.stringsOffset(type) + 4;
+        synchronized (lock) {
+            int start = beginRecord(type, timestamp, length);
+            segment.putInt(queueNumber);
+            return endRecord(start, length);
+        }
+    }
+
+    /**
+     * Journals a seat taken for {@code date} outside the queue.
+     */
+    public long appendSeatReserve(long timestamp, String roomCode, String timeSlot, LocalDate date) {
+        int length = JournalRecord.stringsOffset(JournalRecord.Type.SEAT_RESERVE)
+            + Utf8.encodedSize(roomCode) + Utf8.encodedSize(timeSlot);
+        synchronized (lock) {
+            int start = beginRecord(JournalRecord.Type.SEAT_RESERVE, timestamp, length);
+            segment.putLong(date.toEpochDay());
+            Utf8.put(segment, roomCode);
+            Utf8.put(segment, timeSlot);
+            return endRecord(start, length);
+        }
+    }
+
+    public long appendTransaction(Transaction transaction) {
+        int length = JournalRecord.stringsOffset(JournalRecord.Type.TRANSACTION)
+            + Utf8.encodedSize(transaction.getUserName()) + Utf8.encodedSize(transaction.getDescription());
+        synchronized (lock) {
+            int start = beginRecord(JournalRecord.Type.TRANSACTION, transaction.getTimestamp(), length);
+            segment.putLong(transaction.getSequence());
+            Utf8.put(segment, transaction.getUserName());
+            Utf8.put(segment, transaction.getDescription());
+            return endRecord(start, length);
+        }
+    }
+
+    public long appendLog(long timestamp, String message) {
+        int length = JournalRecord.stringsOffset(JournalRecord.Type.LOG) + Utf8.encodedSize(message);
+        synchronized (lock) {
+            int start = beginRecord(JournalRecord.Type.LOG, timestamp, length);
+            Utf8.put(segment, message);
+            return endRecord(start, length);
+        }
+    }
+
+    /**
+     * Cuts the journal: records appended after this call go to a new segment,
+     * whose number is returned. A snapshot of the state as of this call makes
+     * every earlier segment redundant; see {@link #deleteSegmentsBefore}.
+     * The caller must keep state changes out while it captures that state.
+     */
+    public int checkpoint() throws IOException {
+        synchronized (lock) {
+            checkOpen();
+            rollSegment();
+            if (flusherIdle) {
+                lock.notifyAll();
+            }
+            return segmentIndex;
+        }
+    }
+
+    /**
+     * Deletes segments numbered below {@code firstSegment}, except the one being
+     * written, along with any whose delete failed on an earlier call.
+     */
+    public void deleteSegmentsBefore(int firstSegment) throws IOException {
+        int first;
+        synchronized (lock) {
+            firstLive = Math.max(firstLive, Math.min(firstSegment, segmentIndex));
+            first = firstLive;
+        }
+        deleteRedundantSegments(first);
+    }
+
+    /**
+     * Blocks until the record with the given sequence number has been forced to disk.
+     */
+    public void awaitDurable(long sequence) throws IOException, InterruptedException {
+        synchronized (lock) {
+            while (durableSequence < sequence && failure == null) {
+                lock.wait();
+            }
+            if (failure != null && durableSequence < sequence) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * Blocks until everything appended so far is on disk.
+     */
+    public void sync() throws IOException, InterruptedException {
+        long sequence;
+        synchronized (lock) {
+            sequence = appendedSequence;
+        }
+        awaitDurable(sequence);
+    }
+
+    /**
+     * Forces outstanding records to disk, then stops the flusher.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (lock) {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * Makes room for a record in the current segment (rolling to a new one if
+     * it doesn't fit), writes its type and timestamp, and leaves the segment
+     * positioned at the record body. Caller holds the lock.
+     */
+    private int beginRecord(JournalRecord.Type type, long timestamp, int length) {
+        checkOpen();
+        int frameBytes = FRAME_HEADER_BYTES + length;
+        // Keep room for the zero length that marks the end of the segment
+        if (frameBytes + 4 > segmentBytes - SEGMENT_HEADER_BYTES) {
+            throw new IllegalArgumentException("Journal record of " + length + " bytes exceeds the segment size");
+        }
+        if (writeOffset + frameBytes + 4 > segmentBytes) {
+            try {
+                rollSegment();
+            } catch (IOException e) {
+                failure = e;
+                lock.notifyAll();
+                throw new JournalException("Journal write failed", e);
+            }
+        }
+        int start = writeOffset;
+        segment.position(start + FRAME_HEADER_BYTES);
+        segment.put(type.code);
+        segment.putLong(timestamp);
+        return start;
+    }
+
+    /**
+     * Fills in the frame header of the record written since {@link #beginRecord}
+     * and hands it to the flusher. Caller holds the lock.
+     */
+    private long endRecord(int start, int length) {
+        int payload = start + FRAME_HEADER_BYTES;
+        checksumView.limit(payload + length).position(payload);
+        crc.reset();
+        crc.update(checksumView);
+        segment.putInt(start + 4, (int) crc.getValue());
+        // Length last: a scan only sees the record once it is complete
+        segment.putInt(start, length);
+        writeOffset = payload + length;
+        long sequence = ++appendedSequence;
+        if (flusherIdle) {
+            lock.notifyAll();
+        }
+        return sequence;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new JournalException("Journal is closed");
+        }
+        if (failure != null) {
+            throw new JournalException("Journal write failed", failure);
+        }
+    }
+
+    private void rollSegment() throws IOException {
+        if (writeOffset > unforcedFrom) {
+            sealed.add(new UnforcedRange(segment, unforcedFrom, writeOffset));
+        }
+        startSegment(segmentIndex + 1);
+    }
+
+    private void startSegment(int index) throws IOException {
+        MappedByteBuffer mapped = map(segmentPath(index), segmentBytes, FileChannel.MapMode.READ_WRITE);
+        writeSegmentHeader(mapped);
+        useSegment(mapped, index, SEGMENT_HEADER_BYTES);
+    }
+
+    private void useSegment(MappedByteBuffer mapped, int index, int offset) {
+        segment = mapped;
+        checksumView = mapped.duplicate();
+        segmentIndex = index;
+        writeOffset = offset;
+        // A new segment's header still has to reach the disk
+        unforcedFrom = 0;
+    }
+
+    private void flushLoop() {
+        while (true) {
+            List<UnforcedRange> ranges;
+            MappedByteBuffer current;
+            int from;
+            int to;
+            long batchSequence;
+            synchronized (lock) {
+                while (writeOffset == unforcedFrom && sealed.isEmpty() && !closed) {
+                    flusherIdle = true;
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                flusherIdle = false;
+                if (writeOffset == unforcedFrom && sealed.isEmpty()) {
+                    return;
+                }
+                ranges = sealed;
+                sealed = new ArrayList<>();
+                current = segment;
+                from = unforcedFrom;
+                to = writeOffset;
+                unforcedFrom = to;
+                batchSequence = appendedSequence;
+            }
+
+            try {
+                for (UnforcedRange range : ranges) {
+                    range.segment().force(range.from(), range.to() - range.from());
+                }
+                if (to > from) {
+                    current.force(from, to - from);
+                }
+            } catch (RuntimeException e) {
+                // force() reports I/O errors unchecked
+                synchronized (lock) {
+                    failure = e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e);
+                    lock.notifyAll();
+                }
+                return;
+            }
+            synchronized (lock) {
+                durableSequence = batchSequence;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Walks a segment's records, checking each checksum. Returns where the
+     * intact records end and whether the segment ends cleanly there.
+     */
+    private static RecoveredSegment recover(MappedByteBuffer mapped) {
+        if (mapped.getInt(0) != SEGMENT_MAGIC || mapped.getInt(4) != SEGMENT_VERSION) {
+            return new RecoveredSegment(0, 0, false);
+        }
+        CRC32 checksum = new CRC32();
+        ByteBuffer view = mapped.duplicate();
+        int offset = SEGMENT_HEADER_BYTES;
+        long records = 0;
+        while (offset + FRAME_HEADER_BYTES <= mapped.limit()) {
+            int length = mapped.getInt(offset);
+            if (length == 0) {
+                return new RecoveredSegment(offset, records, true);
+            }
+            int payload = offset + FRAME_HEADER_BYTES;
+            if (length < JournalRecord.BODY_OFFSET || length > mapped.limit() - payload) {
+                return new RecoveredSegment(offset, records, false);
+            }
+            view.limit(payload + length).position(payload);
+            checksum.reset();
+            checksum.update(view);
+            if ((int) checksum.getValue() != mapped.getInt(offset + 4)) {
+                return new RecoveredSegment(offset, records, false);
+            }
+            offset = payload + length;
+            records++;
+        }
+        return new RecoveredSegment(offset, records, true);
+    }
+
+    private static void writeSegmentHeader(MappedByteBuffer mapped) {
+        mapped.putInt(0, SEGMENT_MAGIC);
+        mapped.putInt(4, SEGMENT_VERSION);
+    }
+
+    private static void zero(MappedByteBuffer mapped, int from) {
+        for (int i = from; i < mapped.limit(); i++) {
+            mapped.put(i, (byte) 0);
+        }
+    }
+
+    /**
+     * Maps a whole segment file, creating and sizing it to at least
+     * {@code minBytes} when mapping read-write. The mapping stays valid after
+     * the channel is closed.
+     */
+    private static MappedByteBuffer map(Path path, int minBytes, FileChannel.MapMode mode) throws IOException {
+        boolean write = mode == FileChannel.MapMode.READ_WRITE;
+        try (FileChannel channel = write
+                ? FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(mode, 0, write ? Math.max(minBytes, channel.size()) : channel.size());
+        }
+    }
+
+    /**
+     * Deletes the segment files numbered below {@code first}. The journal keeps
+     * no mapping of them: channels are closed once mapped, and only the current
+     * segment, plus sealed ranges until the flusher has forced them, stay
+     * referenced. A file that is still mapped elsewhere, or not yet unmapped by
+     * the garbage collector, may refuse the delete; it is retried next time.
+     */
+    private void deleteRedundantSegments(int first) throws IOException {
+        for (Path path : listSegments()) {
+            if (segmentNumber(path) < first) {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (FileSystemException e) {
+                    // Still mapped: replay skips it, and the next call tries again
+                }
+            }
+        }
+    }
+
+    private List<Path> liveSegments(int first) throws IOException {
+        List<Path> segments = listSegments();
+        segments.removeIf(path -> segmentNumber(path) < first);
+        return segments;
+    }
+
+    private List<Path> listSegments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                segments.add(path);
+            }
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    private Path segmentPath(int index) {
+        return directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    private static int segmentNumber(Path path) {
+        String file = path.getFileName().toString();
+        return Integer.parseInt(file.substring(SEGMENT_PREFIX.length(), file.length() - SEGMENT_SUFFIX.length()));
+    }
+}
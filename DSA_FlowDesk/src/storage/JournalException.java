@@ -0,0 +1,17 @@
+package storage;
+
+/**
+ * Thrown by the {@link Journal} append methods when a record can't be written:
+ * the journal is closed, or an earlier write or flush failed. The change the
+ * record describes must not be applied, since it would not survive a restart.
+ */
+public class JournalException extends IllegalStateException {
+
+    public JournalException(String message) {
+        super(message);
+    }
+
+    public JournalException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
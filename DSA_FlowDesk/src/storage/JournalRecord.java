@@ -0,0 +1,184 @@
+package storage;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+
+/**
+ * Read-only view of one journal record, positioned over the mapped segment
+ * it lives in. {@link Journal#replay} moves a single instance from record to
+ * record, so nothing is copied or allocated per record until a string field
+ * is asked for, and an instance must not be kept past the callback.
+ * <p>
+ * Layout after the frame header: {@code [byte type][long timestamp]}, then
+ * <pre>
+ *   ENQUEUE          int queueNumber, int age, byte flags, [long seatEpochDay if SEAT_RESERVED],
+ *                    name, contactNumber, room, timeSlot
+ *   APPROVE, REMOVE,
+ *   CANCEL           int queueNumber
+ *   SEAT_RESERVE     long seatEpochDay, room, timeSlot
+ *   TRANSACTION      long sequence, userName, description
+ *   LOG              message
+ * </pre>
+ * where strings are {@code [int byteLength][UTF-8]}.
+ */
+public final class JournalRecord {
+
+    /** ENQUEUE flag: a seat was taken for the reservation when it joined, for the record's seat date. */
+    public static final int SEAT_RESERVED = 1;
+
+    public enum Type {
+        ENQUEUE(1),
+        APPROVE(2),
+        REMOVE(3),
+        CANCEL(4),
+        SEAT_RESERVE(5),
+        TRANSACTION(6),
+        LOG(7);
+
+        private static final Type[] BY_CODE = new Type[8];
+
+        static {
+            for (Type type : values()) {
+                BY_CODE[type.code] = type;
+            }
+        }
+
+        final byte code;
+
+        Type(int code) {
+            this.code = (byte) code;
+        }
+
+        static Type fromCode(byte code) {
+            Type type = code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+            if (type == null) {
+                throw new IllegalArgumentException("Unknown journal record type: " + code);
+            }
+            return type;
+        }
+    }
+
+    static final int TYPE_OFFSET = 0;
+    static final int TIMESTAMP_OFFSET = 1;
+    static final int BODY_OFFSET = 9;
+
+    private ByteBuffer buffer;
+    private int payload;
+    private Type type;
+
+    JournalRecord() {
+    }
+
+    void moveTo(ByteBuffer buffer, int payload) {
+        this.buffer = buffer;
+        this.payload = payload;
+        this.type = Type.fromCode(buffer.get(payload + TYPE_OFFSET));
+    }
+
+    public Type type() {
+        return type;
+    }
+
+    public long timestamp() {
+        return buffer.getLong(payload + TIMESTAMP_OFFSET);
+    }
+
+    /**
+     * Queue number of an ENQUEUE, APPROVE, REMOVE or CANCEL record.
+     */
+    public int queueNumber() {
+        return buffer.getInt(payload + BODY_OFFSET);
+    }
+
+    public int age() {
+        return buffer.getInt(payload + BODY_OFFSET + 4);
+    }
+
+    public boolean hasFlag(int flag) {
+        return (buffer.get(payload + BODY_OFFSET + 8) & flag) != 0;
+    }
+
+    public String name() {
+        return string(0);
+    }
+
+    public String contactNumber() {
+        return string(1);
+    }
+
+    /**
+     * Day the seat of a SEAT_RESERVE record, or of an ENQUEUE with
+     * {@link #SEAT_RESERVED}, was taken for; null for an ENQUEUE without a seat.
+     */
+    public LocalDate seatDate() {
+        if (type == Type.SEAT_RESERVE) {
+            return LocalDate.ofEpochDay(buffer.getLong(payload + BODY_OFFSET));
+        }
+        if (type == Type.ENQUEUE && hasFlag(SEAT_RESERVED)) {
+            return LocalDate.ofEpochDay(buffer.getLong(payload + BODY_OFFSET + 9));
+        }
+        return null;
+    }
+
+    public String room() {
+        return string(type == Type.ENQUEUE ? 2 : 0);
+    }
+
+    public String timeSlot() {
+        return string(type == Type.ENQUEUE ? 3 : 1);
+    }
+
+    /**
+     * Ledger sequence number of a TRANSACTION record.
+     */
+    public long sequence() {
+        return buffer.getLong(payload + BODY_OFFSET);
+    }
+
+    public String userName() {
+        return string(0);
+    }
+
+    public String description() {
+        return string(1);
+    }
+
+    /**
+     * Text of a LOG record.
+     */
+    public String message() {
+        return string(0);
+    }
+
+    private String string(int index) {
+        int offset = payload + stringsOffset(type);
+        if (type == Type.ENQUEUE && hasFlag(SEAT_RESERVED)) {
+            offset += 8;
+        }
+        for (int i = 0; i < index; i++) {
+            offset = Utf8.skip(buffer, offset);
+        }
+        return Utf8.get(buffer, offset);
+    }
+
+    /**
+     * Offset of the first string field within a payload of the given type
+     * (for ENQUEUE, without a seat date).
+     */
+    static int stringsOffset(Type type) {
+        switch (type) {
+            case ENQUEUE:
+                return BODY_OFFSET + 9;
+            case TRANSACTION:
+            case SEAT_RESERVE:
+                return BODY_OFFSET + 8;
+            default:
+                return BODY_OFFSET;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return type + "@" + timestamp();
+    }
+}
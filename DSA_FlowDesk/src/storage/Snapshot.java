@@ -0,0 +1,21 @@
+package storage;
+
+import java.time.LocalDate;
+import java.util.List;
+import model.Reservation;
+import model.Transaction;
+
+/**
+ * Point-in-time copy of the engine state, taken at a journal checkpoint.
+ * Restoring it and replaying the journal from {@code journalSegment} on
+ * reproduces the state at the time the journal was last flushed.
+ * Logs are kept as parallel arrays, oldest first; lists are oldest/front first.
+ * Seat availability is kept per booked date; days not listed are entirely free.
+ */
+public record Snapshot(int journalSegment, long createdAt, int nextQueueNumber,
+                       List<Reservation> waiting, List<Reservation> approved, List<SeatAvailability> seats,
+                       List<Transaction> transactions, long[] logTimestamps, String[] logMessages) {
+
+    public record SeatAvailability(String roomCode, String timeSlot, LocalDate date, int availableSeats) {
+    }
+}
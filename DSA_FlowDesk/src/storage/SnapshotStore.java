@@ -0,0 +1,205 @@
+package storage;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import model.Reservation;
+import model.ReservationStatus;
+import model.ReservationStore;
+import model.Transaction;
+
+/**
+ * Reads and writes the binary {@link Snapshot} file next to the journal.
+ * <p>
+ * Layout: magic, version, header fields, then each section as a count
+ * followed by its entries, and a CRC32 of everything before it. Strings are
+ * length-prefixed UTF-8. A snapshot is written to a temporary file, forced,
+ * and renamed over the previous one, so the file on disk is always complete.
+ */
+public class SnapshotStore {
+
+    private static final int MAGIC = 0x46445331; // "FDS1"
+    // 2: seat availability per date
+    private static final int VERSION = 2;
+    private static final String FILE_NAME = "snapshot.bin";
+    private static final String TEMP_NAME = "snapshot.bin.tmp";
+
+    private final Path file;
+    private final Path tempFile;
+
+    public SnapshotStore(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        this.file = directory.resolve(FILE_NAME);
+        this.tempFile = directory.resolve(TEMP_NAME);
+    }
+
+    public void write(Snapshot snapshot) throws IOException {
+        CRC32 crc = new CRC32();
+        try (FileOutputStream fileOut = new FileOutputStream(tempFile.toFile())) {
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(fileOut, 1 << 16), crc));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(snapshot.journalSegment());
+            out.writeLong(snapshot.createdAt());
+            out.writeInt(snapshot.nextQueueNumber());
+
+            writeReservations(out, snapshot.waiting());
+            writeReservations(out, snapshot.approved());
+
+            out.writeInt(snapshot.seats().size());
+            for (Snapshot.SeatAvailability seat : snapshot.seats()) {
+                writeString(out, seat.roomCode());
+                writeString(out, seat.timeSlot());
+                out.writeLong(seat.date().toEpochDay());
+                out.writeInt(seat.availableSeats());
+            }
+
+            out.writeInt(snapshot.transactions().size());
+            for (Transaction transaction : snapshot.transactions()) {
+                out.writeLong(transaction.getSequence());
+                out.writeLong(transaction.getTimestamp());
+                writeString(out, transaction.getUserName());
+                writeString(out, transaction.getDescription());
+            }
+
+            out.writeInt(snapshot.logMessages().length);
+            for (int i = 0; i < snapshot.logMessages().length; i++) {
+                out.writeLong(snapshot.logTimestamps()[i]);
+                writeString(out, snapshot.logMessages()[i]);
+            }
+
+            out.flush();
+            // The checksum covers everything above; write it past the checked stream
+            DataOutputStream trailer = new DataOutputStream(fileOut);
+            trailer.writeInt((int) crc.getValue());
+            trailer.flush();
+            fileOut.getChannel().force(true);
+        }
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Returns the last snapshot written, or null if there is none. Its
+     * reservations are created in {@code reservations}.
+     *
+     * @throws IOException if the file is unreadable or fails its checksum
+     */
+    public Snapshot read(ReservationStore reservations) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        if (bytes.length < 4) {
+            throw new IOException("Truncated snapshot " + file);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - 4);
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        if (in.getInt(bytes.length - 4) != (int) crc.getValue()) {
+            throw new IOException("Snapshot checksum mismatch in " + file);
+        }
+        in.limit(bytes.length - 4);
+
+        try {
+            int version = in.getInt() == MAGIC ? in.getInt() : -1;
+            if (version != VERSION) {
+                throw new IOException("Not a FlowDesk snapshot (or unsupported version): " + file);
+            }
+            int journalSegment = in.getInt();
+            long createdAt = in.getLong();
+            int nextQueueNumber = in.getInt();
+
+            List<Reservation> waiting = readReservations(in, reservations, ReservationStatus.WAITING);
+            List<Reservation> approved = readReservations(in, reservations, ReservationStatus.APPROVED);
+
+            int seatCount = in.getInt();
+            List<Snapshot.SeatAvailability> seats = new ArrayList<>(seatCount);
+            for (int i = 0; i < seatCount; i++) {
+                String roomCode = readString(in);
+                String timeSlot = readString(in);
+                LocalDate date = LocalDate.ofEpochDay(in.getLong());
+                seats.add(new Snapshot.SeatAvailability(roomCode, timeSlot, date, in.getInt()));
+            }
+
+            int transactionCount = in.getInt();
+            List<Transaction> transactions = new ArrayList<>(transactionCount);
+            for (int i = 0; i < transactionCount; i++) {
+                long sequence = in.getLong();
+                long timestamp = in.getLong();
+                transactions.add(new Transaction(sequence, readString(in), readString(in), timestamp));
+            }
+
+            int logCount = in.getInt();
+            long[] logTimestamps = new long[logCount];
+            String[] logMessages = new String[logCount];
+            for (int i = 0; i < logCount; i++) {
+                logTimestamps[i] = in.getLong();
+                logMessages[i] = readString(in);
+            }
+
+            return new Snapshot(journalSegment, createdAt, nextQueueNumber, waiting, approved, seats,
+                transactions, logTimestamps, logMessages);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new IOException("Malformed snapshot " + file, e);
+        }
+    }
+
+    private static void writeReservations(DataOutputStream out, List<Reservation> reservations) throws IOException {
+        out.writeInt(reservations.size());
+        for (Reservation reservation : reservations) {
+            out.writeInt(reservation.getQueueNumber());
+            out.writeInt(reservation.getAge());
+            writeString(out, reservation.getName());
+            writeString(out, reservation.getContactNumber());
+            writeString(out, reservation.getRoom());
+            writeString(out, reservation.getTimeSlot());
+        }
+    }
+
+    private static List<Reservation> readReservations(ByteBuffer in, ReservationStore store, ReservationStatus status) {
+        int count = in.getInt();
+        List<Reservation> reservations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int queueNumber = in.getInt();
+            int age = in.getInt();
+            Reservation reservation = store.create(readString(in), readString(in), age, readString(in), readString(in), queueNumber);
+            if (status != ReservationStatus.WAITING) {
+                reservation.setStatus(status);
+            }
+            reservations.add(reservation);
+        }
+        return reservations;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+}
@@ -0,0 +1,114 @@
+package storage;
+
+import java.nio.ByteBuffer;
+
+/**
+ * UTF-8 straight between {@code String}s and buffers, without the temporary
+ * {@code byte[]} that {@code String.getBytes}/{@code new String(byte[])} need.
+ * Strings are stored as {@code [int byteLength][bytes]}, with length -1 for null.
+ * Unpaired surrogates are written as '?', as {@code String.getBytes} does.
+ */
+final class Utf8 {
+
+    private Utf8() {
+    }
+
+    /**
+     * Bytes {@link #put} will write for the value, including the length prefix.
+     */
+    static int encodedSize(String value) {
+        return 4 + (value == null ? 0 : length(value));
+    }
+
+    static int length(String value) {
+        int bytes = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                bytes++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Writes the value at the buffer's position and advances it.
+     */
+    static void put(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        buffer.putInt(length(value));
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | c >> 6));
+                buffer.put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put((byte) (0xF0 | codePoint >> 18));
+                buffer.put((byte) (0x80 | codePoint >> 12 & 0x3F));
+                buffer.put((byte) (0x80 | codePoint >> 6 & 0x3F));
+                buffer.put((byte) (0x80 | codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xE0 | c >> 12));
+                buffer.put((byte) (0x80 | c >> 6 & 0x3F));
+                buffer.put((byte) (0x80 | c & 0x3F));
+            }
+        }
+    }
+
+    /**
+     * Decodes the string stored at an absolute offset, without moving the buffer's position.
+     */
+    static String get(ByteBuffer buffer, int offset) {
+        int length = buffer.getInt(offset);
+        if (length < 0) {
+            return null;
+        }
+        char[] chars = new char[length];
+        int count = 0;
+        int i = offset + 4;
+        int end = i + length;
+        while (i < end) {
+            int b = buffer.get(i++);
+            if (b >= 0) {
+                chars[count++] = (char) b;
+            } else if ((b & 0xE0) == 0xC0) {
+                chars[count++] = (char) ((b & 0x1F) << 6 | buffer.get(i++) & 0x3F);
+            } else if ((b & 0xF0) == 0xE0) {
+                chars[count++] = (char) ((b & 0x0F) << 12 | (buffer.get(i++) & 0x3F) << 6 | buffer.get(i++) & 0x3F);
+            } else {
+                int codePoint = (b & 0x07) << 18 | (buffer.get(i++) & 0x3F) << 12
+                    | (buffer.get(i++) & 0x3F) << 6 | buffer.get(i++) & 0x3F;
+                chars[count++] = Character.highSurrogate(codePoint);
+                chars[count++] = Character.lowSurrogate(codePoint);
+            }
+        }
+        return new String(chars, 0, count);
+    }
+
+    /**
+     * Offset just past the string stored at {@code offset}.
+     */
+    static int skip(ByteBuffer buffer, int offset) {
+        int length = buffer.getInt(offset);
+        return offset + 4 + Math.max(length, 0);
+    }
+}
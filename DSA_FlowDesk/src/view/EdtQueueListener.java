@@ -0,0 +1,43 @@
+package view;
+
+import javax.swing.SwingUtilities;
+import model.QueueListener;
+import model.Reservation;
+
+/**
+ * Forwards queue events to a UI listener on the Event Dispatch Thread. Events
+ * raised on the EDT are delivered immediately; events from any other thread
+ * (another desk, an import job) are queued with {@code invokeLater} in the
+ * order they were raised on that thread.
+ */
+public class EdtQueueListener implements QueueListener {
+
+    private final QueueListener delegate;
+
+    public EdtQueueListener(QueueListener delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void reservationAdded(Reservation reservation, int position) {
+        onEdt(() -> delegate.reservationAdded(reservation, position));
+    }
+
+    @Override
+    public void reservationRemoved(Reservation reservation, int position) {
+        onEdt(() -> delegate.reservationRemoved(reservation, position));
+    }
+
+    @Override
+    public void headChanged(Reservation newHead) {
+        onEdt(() -> delegate.headChanged(newHead));
+    }
+
+    private static void onEdt(Runnable task) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            task.run();
+        } else {
+            SwingUtilities.invokeLater(task);
+        }
+    }
+}
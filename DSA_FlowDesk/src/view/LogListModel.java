@@ -0,0 +1,64 @@
+package view;
+
+import javax.swing.AbstractListModel;
+import model.LogStore;
+
+/**
+ * Newest-first list model over a {@link LogStore}. Rows are formatted on demand
+ * from the ring buffer. {@link #sync()} turns everything appended since the last
+ * sync into one insert at the top (plus one removal at the bottom for lines the
+ * ring buffer overwrote), so a burst of log lines costs a single list update.
+ * Rows are read as of the last sync, so lines appended in between don't shift
+ * the rows the list is showing.
+ */
+public class LogListModel extends AbstractListModel<String> {
+
+    private final LogStore store;
+    private int reportedSize;
+    private long seenAppendedCount;
+
+    public LogListModel(LogStore store) {
+        this.store = store;
+        this.seenAppendedCount = store.getAppendedCount();
+        this.reportedSize = store.size();
+    }
+
+    @Override
+    public int getSize() {
+        return reportedSize;
+    }
+
+    @Override
+    public String getElementAt(int index) {
+        return store.getAsOf(seenAppendedCount, index);
+    }
+
+    /**
+     * Publishes lines appended since the last call and returns how many rows were
+     * inserted at the top.
+     */
+    public int sync() {
+        long appended = store.getAppendedCount();
+        long delta = appended - seenAppendedCount;
+        seenAppendedCount = appended;
+        if (delta <= 0) {
+            return 0;
+        }
+
+        int oldSize = reportedSize;
+        reportedSize = store.size();
+        if (delta >= store.capacity()) {
+            // Every visible line was overwritten
+            fireContentsChanged(this, 0, Math.max(reportedSize - 1, 0));
+            return reportedSize;
+        }
+
+        int added = (int) delta;
+        int removed = oldSize + added - reportedSize;
+        if (removed > 0) {
+            fireIntervalRemoved(this, oldSize - removed, oldSize - 1);
+        }
+        fireIntervalAdded(this, 0, added - 1);
+        return added;
+    }
+}
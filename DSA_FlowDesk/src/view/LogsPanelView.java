@@ -1,102 +1,203 @@
-package view;
-
-import java.awt.BorderLayout;
-import java.awt.Color;
-import java.awt.Font;
-import java.util.ArrayList;
-import java.util.List;
-import javax.swing.BorderFactory;
-import javax.swing.BoxLayout;
-import javax.swing.JLabel;
-import javax.swing.JPanel;
-import javax.swing.JScrollPane;
-import javax.swing.border.EmptyBorder;
-
-/**
- * Logs view-only panel. Renders staff-only message when not logged in.
- */
-public class LogsPanelView extends JPanel {
-
-    private final Color panelBg;
-    private final Color textColor;
-    private final Color textSecondary;
-
-    private JPanel logsListPanel;
-
-    public LogsPanelView(Color panelBg, Color textColor, Color textSecondary, boolean isStaffLoggedIn, List<String> systemLogs) {
-        this.panelBg = panelBg;
-        this.textColor = textColor;
-        this.textSecondary = textSecondary;
-
-        setLayout(new BorderLayout());
-        setBackground(panelBg);
-        setBorder(new EmptyBorder(15, 15, 15, 15));
-
-        JLabel titleLabel = new JLabel("System Logs" + (isStaffLoggedIn ? "" : " (Staff Only)"));
-        titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 16));
-        titleLabel.setForeground(textColor);
-        titleLabel.setBorder(new EmptyBorder(0, 0, 10, 0));
-        add(titleLabel, BorderLayout.NORTH);
-
-        logsListPanel = new JPanel();
-        logsListPanel.setLayout(new BoxLayout(logsListPanel, BoxLayout.Y_AXIS));
-        logsListPanel.setBackground(panelBg);
-
-        JScrollPane scrollPane = new JScrollPane(logsListPanel);
-        scrollPane.setBackground(panelBg);
-        scrollPane.setBorder(BorderFactory.createEmptyBorder());
-        scrollPane.getViewport().setBackground(panelBg);
-        scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
-        scrollPane.getVerticalScrollBar().setBackground(panelBg);
-        scrollPane.getVerticalScrollBar().setUI(new javax.swing.plaf.basic.BasicScrollBarUI() {
-            @Override
-            protected void configureScrollBarColors() {
-                this.thumbColor = new Color(50, 80, 120);
-                this.trackColor = panelBg;
-            }
-        });
-
-        add(scrollPane, BorderLayout.CENTER);
-
-        setLogs(isStaffLoggedIn, systemLogs);
-    }
-
-    public void setLogs(boolean isStaffLoggedIn, List<String> systemLogs) {
-        logsListPanel.removeAll();
-        if (!isStaffLoggedIn) {
-            JLabel accessDeniedLabel = new JLabel("Access Restricted: Please log in as staff to view system logs.");
-            accessDeniedLabel.setFont(new Font("Segoe UI", Font.BOLD, 13));
-            accessDeniedLabel.setForeground(new Color(200, 100, 100));
-            accessDeniedLabel.setAlignmentX(LEFT_ALIGNMENT);
-            logsListPanel.add(accessDeniedLabel);
-
-            JLabel hintLabel = new JLabel("Click 'Staff Panel' in the navigation bar to log in.");
-            hintLabel.setFont(new Font("Segoe UI", Font.PLAIN, 11));
-            hintLabel.setForeground(textSecondary);
-            hintLabel.setAlignmentX(LEFT_ALIGNMENT);
-            hintLabel.setBorder(new EmptyBorder(10, 0, 0, 0));
-            logsListPanel.add(hintLabel);
-        } else {
-            List<String> logs = systemLogs == null ? new ArrayList<>() : systemLogs;
-            if (logs.isEmpty()) {
-                JLabel emptyLabel = new JLabel("No system logs yet");
-                emptyLabel.setFont(new Font("Segoe UI", Font.PLAIN, 13));
-                emptyLabel.setForeground(textSecondary);
-                emptyLabel.setAlignmentX(LEFT_ALIGNMENT);
-                logsListPanel.add(emptyLabel);
-            } else {
-                for (String log : logs) {
-                    JLabel logLabel = new JLabel(log);
-                    logLabel.setFont(new Font("Segoe UI", Font.PLAIN, 11));
-                    logLabel.setForeground(textSecondary);
-                    logLabel.setAlignmentX(LEFT_ALIGNMENT);
-                    logLabel.setBorder(new EmptyBorder(2, 0, 2, 0));
-                    logsListPanel.add(logLabel);
-                }
-            }
-        }
-        logsListPanel.revalidate();
-        logsListPanel.repaint();
-    }
-}
-
+package view;
+
+import java.awt.BorderLayout;
+import java.awt.CardLayout;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Font;
+import java.awt.Point;
+import javax.swing.BorderFactory;
+import javax.swing.BoxLayout;
+import javax.swing.DefaultListCellRenderer;
+import javax.swing.JCheckBox;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JViewport;
+import javax.swing.Timer;
+import javax.swing.border.EmptyBorder;
+import model.LogStore;
+
+/**
+ * Logs view-only panel. Renders staff-only message when not logged in.
+ * Lines are shown in a virtualized list over the log store; bursts of new lines
+ * are coalesced into at most one list update per frame, and "Follow" keeps the
+ * newest line in view.
+ */
+public class LogsPanelView extends JPanel {
+
+    private static final String RESTRICTED_CARD = "restricted";
+    private static final String LOGS_CARD = "logs";
+    private static final int FRAME_MILLIS = 16;
+    private static final Font ROW_FONT = new Font("Segoe UI", Font.PLAIN, 11);
+    private static final EmptyBorder ROW_BORDER = new EmptyBorder(2, 0, 2, 0);
+
+    private final Color panelBg;
+    private final Color textColor;
+    private final Color textSecondary;
+
+    private JLabel titleLabel;
+    private JCheckBox followTailBox;
+    private JPanel cards;
+    private JLabel emptyLabel;
+    private JList<String> logList;
+    private JScrollPane scrollPane;
+    private LogListModel logModel;
+    private Timer coalesceTimer;
+
+    public LogsPanelView(Color panelBg, Color textColor, Color textSecondary, boolean isStaffLoggedIn, LogStore systemLogs) {
+        this.panelBg = panelBg;
+        this.textColor = textColor;
+        this.textSecondary = textSecondary;
+
+        setLayout(new BorderLayout());
+        setBackground(panelBg);
+        setBorder(new EmptyBorder(15, 15, 15, 15));
+
+        JPanel titlePanel = new JPanel(new BorderLayout());
+        titlePanel.setBackground(panelBg);
+        titlePanel.setBorder(new EmptyBorder(0, 0, 10, 0));
+
+        titleLabel = new JLabel();
+        titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 16));
+        titleLabel.setForeground(textColor);
+        titlePanel.add(titleLabel, BorderLayout.WEST);
+
+        followTailBox = new JCheckBox("Follow", true);
+        followTailBox.setFont(new Font("Segoe UI", Font.PLAIN, 11));
+        followTailBox.setForeground(textSecondary);
+        followTailBox.setBackground(panelBg);
+        followTailBox.setFocusPainted(false);
+        followTailBox.setToolTipText("Keep the newest log line in view");
+        followTailBox.addActionListener(e -> {
+            if (followTailBox.isSelected()) {
+                scrollToNewest();
+            }
+        });
+        titlePanel.add(followTailBox, BorderLayout.EAST);
+        add(titlePanel, BorderLayout.NORTH);
+
+        cards = new JPanel(new CardLayout());
+        cards.setBackground(panelBg);
+        cards.add(buildRestrictedPanel(), RESTRICTED_CARD);
+        cards.add(buildLogsPanel(systemLogs), LOGS_CARD);
+        add(cards, BorderLayout.CENTER);
+
+        // One-shot timer: the first change in a frame schedules a single flush
+        coalesceTimer = new Timer(FRAME_MILLIS, e -> flushLogs());
+        coalesceTimer.setRepeats(false);
+
+        setStaffLoggedIn(isStaffLoggedIn);
+    }
+
+    private JPanel buildRestrictedPanel() {
+        JPanel restrictedPanel = new JPanel();
+        restrictedPanel.setLayout(new BoxLayout(restrictedPanel, BoxLayout.Y_AXIS));
+        restrictedPanel.setBackground(panelBg);
+
+        JLabel accessDeniedLabel = new JLabel("Access Restricted: Please log in as staff to view system logs.");
+        accessDeniedLabel.setFont(new Font("Segoe UI", Font.BOLD, 13));
+        accessDeniedLabel.setForeground(new Color(200, 100, 100));
+        accessDeniedLabel.setAlignmentX(LEFT_ALIGNMENT);
+        restrictedPanel.add(accessDeniedLabel);
+
+        JLabel hintLabel = new JLabel("Click 'Staff Panel' in the navigation bar to log in.");
+        hintLabel.setFont(new Font("Segoe UI", Font.PLAIN, 11));
+        hintLabel.setForeground(textSecondary);
+        hintLabel.setAlignmentX(LEFT_ALIGNMENT);
+        hintLabel.setBorder(new EmptyBorder(10, 0, 0, 0));
+        restrictedPanel.add(hintLabel);
+        return restrictedPanel;
+    }
+
+    private JPanel buildLogsPanel(LogStore systemLogs) {
+        JPanel logsPanel = new JPanel(new BorderLayout());
+        logsPanel.setBackground(panelBg);
+
+        emptyLabel = new JLabel("No system logs yet");
+        emptyLabel.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        emptyLabel.setForeground(textSecondary);
+        logsPanel.add(emptyLabel, BorderLayout.NORTH);
+
+        logModel = new LogListModel(systemLogs);
+        logList = new JList<>(logModel);
+        logList.setBackground(panelBg);
+        logList.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                    boolean isSelected, boolean cellHasFocus) {
+                JLabel label = (JLabel) super.getListCellRendererComponent(list, value, index, false, false);
+                label.setFont(ROW_FONT);
+                label.setForeground(textSecondary);
+                label.setBackground(panelBg);
+                label.setBorder(ROW_BORDER);
+                return label;
+            }
+        });
+        // Fixed row height: painting cost depends on the viewport, not the log size
+        logList.setPrototypeCellValue("[00/00/0000 00:00:00] Prototype log line");
+
+        scrollPane = new JScrollPane(logList);
+        scrollPane.setBackground(panelBg);
+        scrollPane.setBorder(BorderFactory.createEmptyBorder());
+        scrollPane.getViewport().setBackground(panelBg);
+        scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
+        scrollPane.getVerticalScrollBar().setBackground(panelBg);
+        scrollPane.getVerticalScrollBar().setUI(new javax.swing.plaf.basic.BasicScrollBarUI() {
+            @Override
+            protected void configureScrollBarColors() {
+                this.thumbColor = new Color(50, 80, 120);
+                this.trackColor = panelBg;
+            }
+        });
+        logsPanel.add(scrollPane, BorderLayout.CENTER);
+
+        emptyLabel.setVisible(logModel.getSize() == 0);
+        return logsPanel;
+    }
+
+    public void setStaffLoggedIn(boolean isStaffLoggedIn) {
+        titleLabel.setText("System Logs" + (isStaffLoggedIn ? "" : " (Staff Only)"));
+        followTailBox.setVisible(isStaffLoggedIn);
+        ((CardLayout) cards.getLayout()).show(cards, isStaffLoggedIn ? LOGS_CARD : RESTRICTED_CARD);
+        if (isStaffLoggedIn) {
+            flushLogs();
+        }
+    }
+
+    /**
+     * Signals that lines were appended. Cheap to call on every append: updates
+     * are coalesced and applied at most once per frame.
+     */
+    public void logsChanged() {
+        if (!coalesceTimer.isRunning()) {
+            coalesceTimer.start();
+        }
+    }
+
+    private void flushLogs() {
+        int added = logModel.sync();
+        emptyLabel.setVisible(logModel.getSize() == 0);
+        if (added == 0) {
+            return;
+        }
+        if (followTailBox.isSelected()) {
+            scrollToNewest();
+        } else {
+            // Newest lines are inserted above; shift the viewport so the lines being read stay put
+            JViewport viewport = scrollPane.getViewport();
+            Point position = viewport.getViewPosition();
+            if (position.y > 0) {
+                position.y += added * logList.getFixedCellHeight();
+                viewport.setViewPosition(position);
+            }
+        }
+    }
+
+    private void scrollToNewest() {
+        if (logModel.getSize() > 0) {
+            logList.ensureIndexIsVisible(0);
+        }
+    }
+}
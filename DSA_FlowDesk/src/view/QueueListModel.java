@@ -0,0 +1,110 @@
+package view;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.AbstractListModel;
+import model.QueueListener;
+import model.Reservation;
+import model.ReservationQueue;
+
+/**
+ * List model over a {@link ReservationQueue}, kept as an EDT-owned copy of the
+ * queue in queue-number order (the queue's own FIFO order). Queue events are
+ * replayed on the EDT as single-row deltas, so an enqueue only touches one row.
+ * <p>
+ * The queue may be changed from other threads, and events from different
+ * threads may arrive in any order, so an event's position is not trusted: the
+ * row is found by queue number instead. An addition already in the copy, or a
+ * removal already missing from it, is one the copy covered when it was taken,
+ * and is ignored.
+ */
+public class QueueListModel extends AbstractListModel<Reservation> implements QueueListener {
+
+    private final ReservationQueue queue;
+    private final QueueListener edtListener = new EdtQueueListener(this);
+    private boolean attached;
+    private List<Reservation> rows = new ArrayList<>();
+
+    public QueueListModel(ReservationQueue queue) {
+        this.queue = queue;
+    }
+
+    /**
+     * Starts listening to the queue. Call when the owning view becomes displayable.
+     */
+    public void attach() {
+        if (!attached) {
+            // Listen first, so no change falls between the copy and the first event
+            queue.addQueueListener(edtListener);
+            attached = true;
+            refresh();
+        }
+    }
+
+    /**
+     * Stops listening so a discarded view does not keep receiving events.
+     */
+    public void detach() {
+        if (attached) {
+            queue.removeQueueListener(edtListener);
+            attached = false;
+        }
+    }
+
+    /**
+     * Copies the queue again and tells the list that every row may have changed
+     * (e.g. after statuses were edited).
+     */
+    public void refresh() {
+        int oldSize = rows.size();
+        rows = new ArrayList<>(queue);
+        int size = rows.size();
+        if (size < oldSize) {
+            fireIntervalRemoved(this, size, oldSize - 1);
+        } else if (size > oldSize) {
+            fireIntervalAdded(this, oldSize, size - 1);
+        }
+        fireContentsChanged(this, 0, Math.max(Math.min(oldSize, size) - 1, 0));
+    }
+
+    /**
+     * Repaints the row of a reservation whose fields changed in place.
+     */
+    public void reservationChanged(Reservation reservation) {
+        int index = ReservationListModel.indexOf(rows, reservation.getQueueNumber());
+        if (index >= 0 && rows.get(index) == reservation) {
+            fireContentsChanged(this, index, index);
+        }
+    }
+
+    @Override
+    public int getSize() {
+        return rows.size();
+    }
+
+    @Override
+    public Reservation getElementAt(int index) {
+        return rows.get(index);
+    }
+
+    @Override
+    public void reservationAdded(Reservation reservation, int position) {
+        int index = ReservationListModel.indexOf(rows, reservation.getQueueNumber());
+        if (index >= 0) {
+            return;
+        }
+        index = -index - 1;
+        rows.add(index, reservation);
+        fireIntervalAdded(this, index, index);
+    }
+
+    @Override
+    public void reservationRemoved(Reservation reservation, int position) {
+        int index = ReservationListModel.indexOf(rows, reservation.getQueueNumber());
+        if (index < 0 || rows.get(index) != reservation) {
+            return;
+        }
+        rows.remove(index);
+        fireIntervalRemoved(this, index, index);
+    }
+}
@@ -0,0 +1,101 @@
+package view;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import javax.swing.AbstractListModel;
+import model.Reservation;
+
+/**
+ * List model over a snapshot of reservations, kept in queue-number order (the
+ * queue's FIFO order). Rows are found by binary search on the queue number, so
+ * single-row changes cost O(log n) plus the array shift, and fire fine-grained
+ * insert/remove/change events so a JList only repaints that row.
+ */
+public class ReservationListModel extends AbstractListModel<Reservation> {
+
+    private static final Comparator<Reservation> QUEUE_ORDER = Comparator.comparingInt(Reservation::getQueueNumber);
+
+    private final List<Reservation> reservations = new ArrayList<>();
+
+    @Override
+    public int getSize() {
+        return reservations.size();
+    }
+
+    @Override
+    public Reservation getElementAt(int index) {
+        return reservations.get(index);
+    }
+
+    public void setAll(List<Reservation> newReservations) {
+        int oldSize = reservations.size();
+        reservations.clear();
+        if (oldSize > 0) {
+            fireIntervalRemoved(this, 0, oldSize - 1);
+        }
+        if (newReservations != null) {
+            for (Reservation reservation : newReservations) {
+                if (reservation != null) {
+                    reservations.add(reservation);
+                }
+            }
+        }
+        // Search results already come in queue order, so this is a single pass
+        reservations.sort(QUEUE_ORDER);
+        if (!reservations.isEmpty()) {
+            fireIntervalAdded(this, 0, reservations.size() - 1);
+        }
+    }
+
+    /**
+     * Inserts the reservation at its place in queue order; does nothing if it is already listed.
+     */
+    public void add(Reservation reservation) {
+        int index = indexOf(reservations, reservation.getQueueNumber());
+        if (index >= 0) {
+            return;
+        }
+        index = -index - 1;
+        reservations.add(index, reservation);
+        fireIntervalAdded(this, index, index);
+    }
+
+    public boolean remove(Reservation reservation) {
+        int index = indexOf(reservations, reservation.getQueueNumber());
+        if (index < 0 || reservations.get(index) != reservation) {
+            return false;
+        }
+        reservations.remove(index);
+        fireIntervalRemoved(this, index, index);
+        return true;
+    }
+
+    public void update(Reservation reservation) {
+        int index = indexOf(reservations, reservation.getQueueNumber());
+        if (index >= 0 && reservations.get(index) == reservation) {
+            fireContentsChanged(this, index, index);
+        }
+    }
+
+    /**
+     * Binary search of a list in queue-number order: the index of the
+     * reservation with that queue number, or {@code -(insertion point) - 1}.
+     */
+    static int indexOf(List<Reservation> rows, int queueNumber) {
+        int low = 0;
+        int high = rows.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midNumber = rows.get(mid).getQueueNumber();
+            if (midNumber < queueNumber) {
+                low = mid + 1;
+            } else if (midNumber > queueNumber) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+}
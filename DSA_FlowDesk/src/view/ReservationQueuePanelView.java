@@ -1,178 +1,243 @@
-package view;
-
-import java.awt.BorderLayout;
-import java.awt.Color;
-import java.awt.Component;
-import java.awt.Dimension;
-import java.awt.Font;
-import java.util.ArrayList;
-import java.util.List;
-import javax.swing.BorderFactory;
-import javax.swing.Box;
-import javax.swing.BoxLayout;
-import javax.swing.JButton;
-import javax.swing.JLabel;
-import javax.swing.JPanel;
-import javax.swing.JScrollPane;
-import javax.swing.SwingConstants;
-import javax.swing.border.EmptyBorder;
-import model.Reservation;
-
-/**
- * Reservation queue list view-only panel. Delegates refresh via provided runnable.
- */
-public class ReservationQueuePanelView extends JPanel {
-
-    private final Color panelBg;
-    private final Color inputBg;
-    private final Color accentBlue;
-    private final Color textColor;
-    private final Color textSecondary;
-
-    private JPanel reservationQueuePanel;
-
-    public ReservationQueuePanelView(
-            Color panelBg,
-            Color inputBg,
-            Color accentBlue,
-            Color textColor,
-            Color textSecondary,
-            Runnable onRefresh,
-            List<Reservation> initialQueue) {
-        this.panelBg = panelBg;
-        this.inputBg = inputBg;
-        this.accentBlue = accentBlue;
-        this.textColor = textColor;
-        this.textSecondary = textSecondary;
-
-        setLayout(new BorderLayout());
-        setBackground(panelBg);
-        setBorder(new EmptyBorder(20, 20, 20, 20));
-        setPreferredSize(new Dimension(500, Integer.MAX_VALUE));
-        setMaximumSize(new Dimension(500, Integer.MAX_VALUE));
-        setMinimumSize(new Dimension(500, Integer.MAX_VALUE));
-
-        JPanel titlePanel = new JPanel(new BorderLayout());
-        titlePanel.setBackground(panelBg);
-
-        JLabel titleLabel = new JLabel("Reservation Queue");
-        titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 18));
-        titleLabel.setForeground(textColor);
-        titlePanel.add(titleLabel, BorderLayout.WEST);
-
-        JButton refreshBtn = new JButton("Refresh");
-        refreshBtn.setFont(new Font("Segoe UI", Font.PLAIN, 11));
-        refreshBtn.setForeground(textColor);
-        refreshBtn.setBackground(inputBg);
-        refreshBtn.setBorderPainted(false);
-        refreshBtn.setFocusPainted(false);
-        refreshBtn.setCursor(new java.awt.Cursor(java.awt.Cursor.HAND_CURSOR));
-        refreshBtn.setPreferredSize(new Dimension(80, 25));
-        refreshBtn.addActionListener(e -> {
-            if (onRefresh != null) onRefresh.run();
-        });
-        titlePanel.add(refreshBtn, BorderLayout.EAST);
-        titlePanel.setBorder(new EmptyBorder(0, 0, 20, 0));
-        add(titlePanel, BorderLayout.NORTH);
-
-        reservationQueuePanel = new JPanel();
-        reservationQueuePanel.setLayout(new BoxLayout(reservationQueuePanel, BoxLayout.Y_AXIS));
-        reservationQueuePanel.setBackground(panelBg);
-
-        JScrollPane scrollPane = new JScrollPane(reservationQueuePanel);
-        scrollPane.setBackground(panelBg);
-        scrollPane.setBorder(BorderFactory.createEmptyBorder());
-        scrollPane.getViewport().setBackground(panelBg);
-        scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
-        scrollPane.getVerticalScrollBar().setBackground(panelBg);
-        scrollPane.getVerticalScrollBar().setUI(new javax.swing.plaf.basic.BasicScrollBarUI() {
-            @Override
-            protected void configureScrollBarColors() {
-                this.thumbColor = new Color(50, 80, 120);
-                this.trackColor = panelBg;
-            }
-        });
-
-        add(scrollPane, BorderLayout.CENTER);
-
-        updateQueue(initialQueue);
-    }
-
-    public void updateQueue(List<Reservation> queueList) {
-        if (reservationQueuePanel == null) return;
-        reservationQueuePanel.removeAll();
-
-        List<Reservation> safeList = queueList == null ? new ArrayList<>() : queueList;
-        if (safeList.isEmpty()) {
-            JLabel emptyLabel = new JLabel("Queue is empty");
-            emptyLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
-            emptyLabel.setForeground(textSecondary);
-            emptyLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
-            reservationQueuePanel.add(emptyLabel);
-        } else {
-            int position = 1;
-            for (Reservation reservation : safeList) {
-                if (reservation != null) {
-                    reservationQueuePanel.add(createReservationEntry(reservation, position++));
-                    reservationQueuePanel.add(Box.createVerticalStrut(10));
-                }
-            }
-        }
-
-        reservationQueuePanel.revalidate();
-        reservationQueuePanel.repaint();
-        var parent = reservationQueuePanel.getParent();
-        if (parent != null) {
-            parent.revalidate();
-            parent.repaint();
-        }
-    }
-
-    private JPanel createReservationEntry(Reservation reservation, int position) {
-        JPanel entry = new JPanel(new BorderLayout(15, 0));
-        entry.setBackground(inputBg);
-        entry.setBorder(BorderFactory.createCompoundBorder(
-            BorderFactory.createLineBorder(new Color(50, 80, 120), 1),
-            new EmptyBorder(15, 15, 15, 15)
-        ));
-
-        JPanel leftPanel = new JPanel(new BorderLayout(10, 0));
-        leftPanel.setBackground(inputBg);
-
-        JLabel iconLabel = new JLabel("👤");
-        iconLabel.setFont(new Font("Segoe UI", Font.PLAIN, 20));
-        leftPanel.add(iconLabel, BorderLayout.WEST);
-
-        JPanel infoPanel = new JPanel();
-        infoPanel.setLayout(new BoxLayout(infoPanel, BoxLayout.Y_AXIS));
-        infoPanel.setBackground(inputBg);
-
-        JLabel nameLabel = new JLabel(reservation.getName());
-        nameLabel.setFont(new Font("Segoe UI", Font.BOLD, 14));
-        nameLabel.setForeground(textColor);
-        infoPanel.add(nameLabel);
-
-        JLabel roomLabel = new JLabel(reservation.getRoom() + " - " + reservation.getTimeSlot());
-        roomLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
-        roomLabel.setForeground(textSecondary);
-        infoPanel.add(roomLabel);
-
-        JLabel statusLabel = new JLabel("Status: " + reservation.getStatus());
-        statusLabel.setFont(new Font("Segoe UI", Font.PLAIN, 11));
-        statusLabel.setForeground(reservation.getStatus().equals("APPROVED") ?
-            new Color(120, 200, 140) : textSecondary);
-        infoPanel.add(statusLabel);
-
-        leftPanel.add(infoPanel, BorderLayout.CENTER);
-        entry.add(leftPanel, BorderLayout.CENTER);
-
-        JLabel queueLabel = new JLabel(String.valueOf(position));
-        queueLabel.setFont(new Font("Segoe UI", Font.BOLD, 18));
-        queueLabel.setForeground(accentBlue);
-        queueLabel.setHorizontalAlignment(SwingConstants.CENTER);
-        entry.add(queueLabel, BorderLayout.EAST);
-
-        return entry;
-    }
-}
-
+package view;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.Font;
+import javax.swing.BorderFactory;
+import javax.swing.BoxLayout;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.ListCellRenderer;
+import javax.swing.SwingConstants;
+import javax.swing.border.EmptyBorder;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+import model.Reservation;
+import model.ReservationQueue;
+import model.ReservationStatus;
+
+/**
+ * Reservation queue list view-only panel. Delegates refresh via provided runnable.
+ * Rows come from a live {@link QueueListModel}, so queue changes update single rows.
+ */
+public class ReservationQueuePanelView extends JPanel {
+
+    private final Color panelBg;
+    private final Color inputBg;
+    private final Color accentBlue;
+    private final Color textColor;
+    private final Color textSecondary;
+
+    private JList<Reservation> queueList;
+    private QueueListModel queueModel;
+    private JLabel emptyLabel;
+
+    public ReservationQueuePanelView(
+            Color panelBg,
+            Color inputBg,
+            Color accentBlue,
+            Color textColor,
+            Color textSecondary,
+            Runnable onRefresh,
+            ReservationQueue queue) {
+        this.panelBg = panelBg;
+        this.inputBg = inputBg;
+        this.accentBlue = accentBlue;
+        this.textColor = textColor;
+        this.textSecondary = textSecondary;
+
+        setLayout(new BorderLayout());
+        setBackground(panelBg);
+        setBorder(new EmptyBorder(20, 20, 20, 20));
+        setPreferredSize(new Dimension(500, Integer.MAX_VALUE));
+        setMaximumSize(new Dimension(500, Integer.MAX_VALUE));
+        setMinimumSize(new Dimension(500, Integer.MAX_VALUE));
+
+        JPanel titlePanel = new JPanel(new BorderLayout());
+        titlePanel.setBackground(panelBg);
+
+        JLabel titleLabel = new JLabel("Reservation Queue");
+        titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 18));
+        titleLabel.setForeground(textColor);
+        titlePanel.add(titleLabel, BorderLayout.WEST);
+
+        JButton refreshBtn = new JButton("Refresh");
+        refreshBtn.setFont(new Font("Segoe UI", Font.PLAIN, 11));
+        refreshBtn.setForeground(textColor);
+        refreshBtn.setBackground(inputBg);
+        refreshBtn.setBorderPainted(false);
+        refreshBtn.setFocusPainted(false);
+        refreshBtn.setCursor(new java.awt.Cursor(java.awt.Cursor.HAND_CURSOR));
+        refreshBtn.setPreferredSize(new Dimension(80, 25));
+        refreshBtn.addActionListener(e -> {
+            if (onRefresh != null) onRefresh.run();
+        });
+        titlePanel.add(refreshBtn, BorderLayout.EAST);
+        titlePanel.setBorder(new EmptyBorder(0, 0, 20, 0));
+        add(titlePanel, BorderLayout.NORTH);
+
+        emptyLabel = new JLabel("Queue is empty");
+        emptyLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        emptyLabel.setForeground(textSecondary);
+        emptyLabel.setHorizontalAlignment(SwingConstants.CENTER);
+
+        queueModel = new QueueListModel(queue);
+        queueModel.addListDataListener(new ListDataListener() {
+            @Override public void intervalAdded(ListDataEvent e) { updateEmptyState(); }
+            @Override public void intervalRemoved(ListDataEvent e) { updateEmptyState(); }
+            @Override public void contentsChanged(ListDataEvent e) { updateEmptyState(); }
+        });
+
+        queueList = new JList<>(queueModel);
+        ReservationCellRenderer cellRenderer = new ReservationCellRenderer();
+        queueList.setCellRenderer(cellRenderer);
+        queueList.setBackground(panelBg);
+        // Fixed row size: the list never has to measure rows outside the viewport
+        Dimension rowSize = cellRenderer.prototypeSize();
+        queueList.setFixedCellWidth(rowSize.width);
+        queueList.setFixedCellHeight(rowSize.height);
+
+        JScrollPane scrollPane = new JScrollPane(queueList);
+        scrollPane.setBackground(panelBg);
+        scrollPane.setBorder(BorderFactory.createEmptyBorder());
+        scrollPane.getViewport().setBackground(panelBg);
+        scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
+        scrollPane.getVerticalScrollBar().setBackground(panelBg);
+        scrollPane.getVerticalScrollBar().setUI(new javax.swing.plaf.basic.BasicScrollBarUI() {
+            @Override
+            protected void configureScrollBarColors() {
+                this.thumbColor = new Color(50, 80, 120);
+                this.trackColor = panelBg;
+            }
+        });
+
+        JPanel listContainer = new JPanel(new BorderLayout());
+        listContainer.setBackground(panelBg);
+        listContainer.add(emptyLabel, BorderLayout.NORTH);
+        listContainer.add(scrollPane, BorderLayout.CENTER);
+        add(listContainer, BorderLayout.CENTER);
+
+        updateEmptyState();
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        queueModel.attach();
+    }
+
+    @Override
+    public void removeNotify() {
+        queueModel.detach();
+        super.removeNotify();
+    }
+
+    /**
+     * Repaints all rows, e.g. after reservation statuses changed in place.
+     */
+    public void refresh() {
+        queueModel.refresh();
+    }
+
+    /**
+     * Repaints the single row of a reservation whose status changed.
+     */
+    public void reservationChanged(Reservation reservation) {
+        queueModel.reservationChanged(reservation);
+    }
+
+    private void updateEmptyState() {
+        emptyLabel.setVisible(queueModel.getSize() == 0);
+    }
+
+    /**
+     * Single reusable row component stamped by the JList for each visible row.
+     */
+    private class ReservationCellRenderer extends JPanel implements ListCellRenderer<Reservation> {
+
+        private final JLabel nameLabel = new JLabel();
+        private final JLabel roomLabel = new JLabel();
+        private final JLabel statusLabel = new JLabel();
+        private final JLabel queueLabel = new JLabel();
+
+        ReservationCellRenderer() {
+            super(new BorderLayout());
+            setBackground(panelBg);
+            setBorder(new EmptyBorder(0, 0, 10, 0));
+
+            JPanel entry = new JPanel(new BorderLayout(15, 0));
+            entry.setBackground(inputBg);
+            entry.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createLineBorder(new Color(50, 80, 120), 1),
+                new EmptyBorder(15, 15, 15, 15)
+            ));
+
+            JPanel leftPanel = new JPanel(new BorderLayout(10, 0));
+            leftPanel.setBackground(inputBg);
+
+            JLabel iconLabel = new JLabel("👤");
+            iconLabel.setFont(new Font("Segoe UI", Font.PLAIN, 20));
+            leftPanel.add(iconLabel, BorderLayout.WEST);
+
+            JPanel infoPanel = new JPanel();
+            infoPanel.setLayout(new BoxLayout(infoPanel, BoxLayout.Y_AXIS));
+            infoPanel.setBackground(inputBg);
+
+            nameLabel.setFont(new Font("Segoe UI", Font.BOLD, 14));
+            nameLabel.setForeground(textColor);
+            infoPanel.add(nameLabel);
+
+            roomLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+            roomLabel.setForeground(textSecondary);
+            infoPanel.add(roomLabel);
+
+            statusLabel.setFont(new Font("Segoe UI", Font.PLAIN, 11));
+            infoPanel.add(statusLabel);
+
+            leftPanel.add(infoPanel, BorderLayout.CENTER);
+            entry.add(leftPanel, BorderLayout.CENTER);
+
+            queueLabel.setFont(new Font("Segoe UI", Font.BOLD, 18));
+            queueLabel.setForeground(accentBlue);
+            queueLabel.setHorizontalAlignment(SwingConstants.CENTER);
+            entry.add(queueLabel, BorderLayout.EAST);
+
+            add(entry, BorderLayout.CENTER);
+        }
+
+        /**
+         * Size of a row filled with sample text, measured without creating a {@link Reservation}.
+         */
+        Dimension prototypeSize() {
+            nameLabel.setText("Prototype Customer");
+            roomLabel.setText("X-000 - 00:00 - 00:00");
+            statusLabel.setText("Status: " + ReservationStatus.WAITING);
+            queueLabel.setText("1");
+            return getPreferredSize();
+        }
+
+        @Override
+        public Component getListCellRendererComponent(JList<? extends Reservation> list, Reservation reservation,
+                int index, boolean isSelected, boolean cellHasFocus) {
+            if (reservation == null) {
+                nameLabel.setText("");
+                roomLabel.setText("");
+                statusLabel.setText("");
+                queueLabel.setText("");
+                return this;
+            }
+            nameLabel.setText(reservation.getName());
+            roomLabel.setText(reservation.getRoom() + " - " + reservation.getTimeSlot());
+            statusLabel.setText("Status: " + reservation.getStatus());
+            statusLabel.setForeground(reservation.getStatus() == ReservationStatus.APPROVED ?
+                new Color(120, 200, 140) : textSecondary);
+            queueLabel.setText(String.valueOf(index + 1));
+            return this;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package view;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+/**
+ * Debounced search that matches off the Swing EDT. Keystrokes restart a short
+ * timer; when it fires, the latest query is matched on a background thread and
+ * any older search still pending is cancelled. Only the result of the newest
+ * query is published back on the EDT, so fast typing never stalls input and
+ * stale results never overwrite fresh ones.
+ *
+ * @param <Q> query type, captured on the EDT
+ * @param <R> result type, computed in the background
+ */
+public class SearchPipeline<Q, R> {
+
+    public static final int DEFAULT_DEBOUNCE_MILLIS = 150;
+
+    // Shared by every search box; one worker is enough since stale searches are cancelled
+    private static final ExecutorService SEARCH_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "flowdesk-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Function<Q, R> matcher;
+    private final BiConsumer<Q, R> publisher;
+    private final Consumer<RuntimeException> onFailure;
+    private final Timer debounceTimer;
+    private final AtomicLong generation = new AtomicLong();
+    private Q latestQuery;
+    private Future<?> pending;
+
+    /**
+     * @param matcher   runs on the background thread; must only touch thread-safe state
+     * @param publisher runs on the EDT with the query and its result
+     * @param onFailure runs on the EDT with whatever the newest query's matcher threw
+     */
+    public SearchPipeline(int debounceMillis, Function<Q, R> matcher, BiConsumer<Q, R> publisher,
+                          Consumer<RuntimeException> onFailure) {
+        this.matcher = matcher;
+        this.publisher = publisher;
+        this.onFailure = onFailure;
+        this.debounceTimer = new Timer(debounceMillis, e -> dispatch());
+        this.debounceTimer.setRepeats(false);
+    }
+
+    /**
+     * Schedules a search after the debounce delay, superseding any earlier query.
+     * Call from the EDT.
+     */
+    public void submit(Q query) {
+        latestQuery = query;
+        generation.incrementAndGet();
+        debounceTimer.restart();
+    }
+
+    /**
+     * Runs a search right away (e.g. for a Clear button or a filter change).
+     * Call from the EDT.
+     */
+    public void submitNow(Q query) {
+        latestQuery = query;
+        generation.incrementAndGet();
+        debounceTimer.stop();
+        dispatch();
+    }
+
+    private void dispatch() {
+        final long searchGeneration = generation.get();
+        final Q query = latestQuery;
+        if (pending != null) {
+            pending.cancel(true);
+        }
+        pending = SEARCH_EXECUTOR.submit(() -> {
+            if (generation.get() != searchGeneration) return;
+            R result;
+            try {
+                result = matcher.apply(query);
+            } catch (RuntimeException e) {
+                SwingUtilities.invokeLater(() -> {
+                    if (generation.get() == searchGeneration) {
+                        onFailure.accept(e);
+                    }
+                });
+                return;
+            }
+            if (generation.get() != searchGeneration || Thread.currentThread().isInterrupted()) return;
+            SwingUtilities.invokeLater(() -> {
+                // A newer query may have been typed while this result was in flight
+                if (generation.get() == searchGeneration) {
+                    publisher.accept(query, result);
+                }
+            });
+        });
+    }
+}
@@ -2,7 +2,10 @@ package view;
 
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.event.DocumentEvent;
@@ -10,6 +13,8 @@ import javax.swing.event.DocumentListener;
 import javax.swing.plaf.basic.BasicComboBoxEditor;
 import javax.swing.plaf.basic.BasicComboBoxUI;
 import model.Seat;
+import model.SeatInventory;
+import model.TimeSlot;
 
 public class SearchReservePanel extends JPanel {
 
@@ -22,11 +27,15 @@ public class SearchReservePanel extends JPanel {
 
     private JTextField searchField;
     private JPanel seatsListPanel;
-    private List<Seat> allSeats;
+    private final SeatInventory seatInventory;
     private JLabel resultsSummaryLabel;
     private JComboBox<String> buildingFilter;
     private JComboBox<String> timeFilter;
     private java.util.function.Consumer<String[]> joinQueueCallback;
+    private SearchPipeline<SeatFilter, List<Seat>> searchPipeline;
+
+    // Search box text and filter selections, captured on the EDT for a background search
+    private record SeatFilter(String text, String building, String timeSlot) {}
 
     public SearchReservePanel(
             Color panelBg,
@@ -35,6 +44,7 @@ public class SearchReservePanel extends JPanel {
             Color selectedBlue,
             Color textColor,
             Color textSecondary,
+            SeatInventory seatInventory,
             java.util.function.Consumer<String[]> joinQueueCallback
     ) {
         this.PANEL_BG = panelBg;
@@ -43,28 +53,27 @@ public class SearchReservePanel extends JPanel {
         this.SELECTED_BLUE = selectedBlue;
         this.TEXT_COLOR = textColor;
         this.TEXT_SECONDARY = textSecondary;
+        this.seatInventory = seatInventory;
         this.joinQueueCallback = joinQueueCallback;
+        this.searchPipeline = new SearchPipeline<>(
+                SearchPipeline.DEFAULT_DEBOUNCE_MILLIS,
+                this::matchSeats,
+                (filter, seats) -> populateSeatCards(seats),
+                failure -> {
+                    if (resultsSummaryLabel != null) {
+                        resultsSummaryLabel.setText("Search failed: " + failure.getMessage());
+                    }
+                }
+        );
 
         setLayout(new BorderLayout());
         setBackground(new Color(5, 5, 10)); // Dark blue background like in image
         setBorder(new EmptyBorder(20, 20, 20, 20));
 
-        initializeSeatData();
         createHeader();
         createContent();
     }
 
-    private void initializeSeatData() {
-        allSeats = new ArrayList<>();
-
-        allSeats.add(new Seat("A-201", "Main Building", "10:00 - 12:00", 10, 0, "PC • Airconditioned"));
-        allSeats.add(new Seat("A-102", "Main Building", "14:00 - 16:00", 8, 0, "Silent Zone"));
-        allSeats.add(new Seat("B-101", "Annex", "13:00 - 15:00", 6, 2, "Near Window"));
-        allSeats.add(new Seat("B-202", "Annex", "09:00 - 11:00", 12, 4, "Group Study"));
-        allSeats.add(new Seat("C-301", "Library Wing", "15:00 - 17:00", 20, 8, "PC • Projector"));
-        allSeats.add(new Seat("C-105", "Library Wing", "08:00 - 10:00", 5, 0, "Silent Zone • Individual"));
-    }
-
     private void createHeader() {
         JPanel header = new JPanel();
         header.setLayout(new BoxLayout(header, BoxLayout.Y_AXIS));
@@ -114,17 +123,17 @@ public class SearchReservePanel extends JPanel {
         searchField.getDocument().addDocumentListener(new DocumentListener() {
             @Override
             public void insertUpdate(DocumentEvent e) {
-                filterSeats();
+                searchPipeline.submit(currentFilter());
             }
 
             @Override
             public void removeUpdate(DocumentEvent e) {
-                filterSeats();
+                searchPipeline.submit(currentFilter());
             }
 
             @Override
             public void changedUpdate(DocumentEvent e) {
-                filterSeats();
+                searchPipeline.submit(currentFilter());
             }
         });
 
@@ -330,12 +339,7 @@ public class SearchReservePanel extends JPanel {
         add(scrollPane, BorderLayout.CENTER);
 
         // Populate seats immediately - ensure this happens
-        SwingUtilities.invokeLater(() -> {
-            if (allSeats == null || allSeats.isEmpty()) {
-                initializeSeatData();
-            }
-            populateSeatCards(allSeats);
-        });
+        SwingUtilities.invokeLater(() -> populateSeatCards(seatInventory.getAllSeats()));
     }
 
     private void populateSeatCards(List<Seat> seats) {
@@ -572,73 +576,58 @@ public class SearchReservePanel extends JPanel {
     }
 
     private void filterSeats() {
-        String query = searchField.getText();
-        if (query == null) {
-            query = "";
-        }
-        String normalized = query.trim().toLowerCase();
+        searchPipeline.submitNow(currentFilter());
+    }
 
-        List<Seat> filtered = new ArrayList<>();
-        for (Seat seat : allSeats) {
-            if (!normalized.isEmpty() && !matchesQuery(seat, normalized)) {
-                continue;
-            }
+    private SeatFilter currentFilter() {
+        String buildingSelection = buildingFilter == null ? null : (String) buildingFilter.getSelectedItem();
+        String timeSelection = timeFilter == null ? null : (String) timeFilter.getSelectedItem();
+        return new SeatFilter(searchField.getText(), buildingSelection, timeSelection);
+    }
 
-            // Building filter
-            if (buildingFilter != null) {
-                String buildingSelection = (String) buildingFilter.getSelectedItem();
-                if (buildingSelection != null && !"All".equals(buildingSelection)) {
-                    if (!seat.getBuilding().equalsIgnoreCase(buildingSelection)) {
-                        continue;
+    // Runs on the search thread: only touches the thread-safe inventory and the captured filter
+    private List<Seat> matchSeats(SeatFilter filter) {
+        // Text matching is answered by the inventory's n-gram index
+        List<Seat> matches = seatInventory.search(filter.text());
+
+        // Time filter: seats whose slot covers the chosen (or typed) window, via the slot interval tree
+        Set<Seat> inWindow = null;
+        String timeSelection = filter.timeSlot();
+        if (timeSelection != null && !"All".equals(timeSelection)) {
+            inWindow = Collections.newSetFromMap(new IdentityHashMap<>());
+            TimeSlot window = TimeSlot.tryParse(timeSelection);
+            if (window != null) {
+                for (Seat seat : seatInventory.findOverlapping(window)) {
+                    if (seat.getSlot().contains(window)) {
+                        inWindow.add(seat);
                     }
                 }
             }
+        }
 
-            // Time filter
-            if (timeFilter != null) {
-                String timeSelection = (String) timeFilter.getSelectedItem();
-                if (timeSelection != null && !"All".equals(timeSelection)) {
-                    if (!seat.getTimeSlot().equalsIgnoreCase(timeSelection)) {
-                        continue;
-                    }
+        List<Seat> filtered = new ArrayList<>();
+        for (Seat seat : matches) {
+            // Building filter
+            String buildingSelection = filter.building();
+            if (buildingSelection != null && !"All".equals(buildingSelection)) {
+                if (!seat.getBuilding().equalsIgnoreCase(buildingSelection)) {
+                    continue;
                 }
             }
 
-            filtered.add(seat);
-        }
-
-        populateSeatCards(filtered);
-    }
-
-    private boolean matchesQuery(Seat seat, String query) {
-        return seat.getRoomCode().toLowerCase().contains(query) ||
-                seat.getBuilding().toLowerCase().contains(query) ||
-                seat.getTimeSlot().toLowerCase().contains(query) ||
-                seat.getFeatures().toLowerCase().contains(query);
-    }
-    
-    public void decreaseSeatAvailability(String roomCode, String timeSlot) {
-        // Find the matching seat and decrease availability
-        for (Seat seat : allSeats) {
-            if (seat.getRoomCode().equals(roomCode) && seat.getTimeSlot().equals(timeSlot)) {
-                seat.decreaseAvailableSeats();
-                // Refresh the display
-                filterSeats();
-                break;
+            if (inWindow != null && !inWindow.contains(seat)) {
+                continue;
             }
+
+            filtered.add(seat);
         }
+        return filtered;
     }
     
-    public boolean hasAvailableSeats(String roomCode, String timeSlot) {
-        // Find the matching seat and check availability
-        for (Seat seat : allSeats) {
-            if (seat.getRoomCode().equals(roomCode) && seat.getTimeSlot().equals(timeSlot)) {
-                return seat.getAvailableSeats() > 0;
-            }
-        }
-        return false;
+    /**
+     * Re-applies the current search and filters, e.g. after seat availability changed.
+     */
+    public void refreshSeats() {
+        filterSeats();
     }
 }
-
-
-
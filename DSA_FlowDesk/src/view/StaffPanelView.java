@@ -1,268 +1,431 @@
-package view;
-
-import java.awt.BorderLayout;
-import java.awt.Color;
-import java.awt.Component;
-import java.awt.Dimension;
-import java.awt.Font;
-import java.util.List;
-import java.util.function.Consumer;
-import javax.swing.BorderFactory;
-import javax.swing.Box;
-import javax.swing.BoxLayout;
-import javax.swing.JButton;
-import javax.swing.JLabel;
-import javax.swing.JPanel;
-import javax.swing.JScrollPane;
-import javax.swing.JTextField;
-import javax.swing.border.EmptyBorder;
-import model.Reservation;
-
-/**
- * Staff panel view: lists queue entries with approve/remove and search.
- */
-public class StaffPanelView extends JPanel {
-
-    private final Color panelBg;
-    private final Color inputBg;
-    private final Color accentBlue;
-    private final Color textColor;
-    private final Color textSecondary;
-
-    private JPanel queueManagementPanel;
-    private JTextField searchField;
-
-    private Consumer<String> onSearch;
-    private Consumer<Reservation> onApprove;
-    private Consumer<Reservation> onRemove;
-    private Runnable onLogout;
-
-    public StaffPanelView(
-            Color panelBg,
-            Color inputBg,
-            Color accentBlue,
-            Color textColor,
-            Color textSecondary,
-            Runnable onLogout,
-            Consumer<String> onSearch,
-            Consumer<Reservation> onApprove,
-            Consumer<Reservation> onRemove) {
-        this.panelBg = panelBg;
-        this.inputBg = inputBg;
-        this.accentBlue = accentBlue;
-        this.textColor = textColor;
-        this.textSecondary = textSecondary;
-        this.onLogout = onLogout;
-        this.onSearch = onSearch;
-        this.onApprove = onApprove;
-        this.onRemove = onRemove;
-
-        setLayout(new BorderLayout());
-        setBackground(panelBg);
-        setBorder(new EmptyBorder(20, 20, 20, 20));
-
-        add(buildTitleBar(), BorderLayout.NORTH);
-        add(buildContent(), BorderLayout.CENTER);
-    }
-
-    private JPanel buildTitleBar() {
-        JPanel titlePanel = new JPanel(new BorderLayout());
-        titlePanel.setBackground(panelBg);
-
-        JLabel titleLabel = new JLabel("Staff Panel - Queue Management");
-        titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 24));
-        titleLabel.setForeground(textColor);
-        titlePanel.add(titleLabel, BorderLayout.WEST);
-
-        JButton logoutBtn = new JButton("Logout");
-        logoutBtn.setFont(new Font("Segoe UI", Font.PLAIN, 12));
-        logoutBtn.setForeground(Color.WHITE);
-        logoutBtn.setBackground(new Color(200, 80, 80));
-        logoutBtn.setBorderPainted(false);
-        logoutBtn.setFocusPainted(false);
-        logoutBtn.setCursor(new java.awt.Cursor(java.awt.Cursor.HAND_CURSOR));
-        logoutBtn.setPreferredSize(new Dimension(80, 30));
-        logoutBtn.addActionListener(e -> {
-            if (onLogout != null) onLogout.run();
-        });
-        titlePanel.add(logoutBtn, BorderLayout.EAST);
-        titlePanel.setBorder(new EmptyBorder(0, 0, 20, 0));
-        return titlePanel;
-    }
-
-    private JPanel buildContent() {
-        JPanel container = new JPanel(new BorderLayout());
-        container.setBackground(panelBg);
-
-        JPanel searchSection = new JPanel(new BorderLayout(10, 10));
-        searchSection.setBackground(panelBg);
-        searchSection.setBorder(new EmptyBorder(0, 0, 20, 0));
-
-        JLabel searchLabel = new JLabel("Search Queue Position or Customer:");
-        searchLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
-        searchLabel.setForeground(textColor);
-        searchLabel.setBorder(new EmptyBorder(0, 0, 8, 0));
-        searchSection.add(searchLabel, BorderLayout.NORTH);
-
-        JPanel searchRow = new JPanel(new BorderLayout(10, 0));
-        searchRow.setBackground(panelBg);
-
-        searchField = new JTextField();
-        searchField.setFont(new Font("Segoe UI", Font.PLAIN, 14));
-        searchField.setForeground(textColor);
-        searchField.setBackground(inputBg);
-        searchField.setBorder(BorderFactory.createCompoundBorder(
-            BorderFactory.createLineBorder(new Color(50, 80, 120), 1),
-            new EmptyBorder(10, 12, 10, 12)
-        ));
-        searchField.setCaretColor(textColor);
-        searchField.setToolTipText("Search by name, contact, queue number, or room...");
-        searchField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
-            @Override public void insertUpdate(javax.swing.event.DocumentEvent e) { fireSearch(); }
-            @Override public void removeUpdate(javax.swing.event.DocumentEvent e) { fireSearch(); }
-            @Override public void changedUpdate(javax.swing.event.DocumentEvent e) { fireSearch(); }
-        });
-
-        JButton clearBtn = new JButton("Clear");
-        clearBtn.setFont(new Font("Segoe UI", Font.PLAIN, 12));
-        clearBtn.setForeground(textSecondary);
-        clearBtn.setBackground(panelBg);
-        clearBtn.setBorder(BorderFactory.createEmptyBorder(0, 12, 0, 12));
-        clearBtn.setFocusPainted(false);
-        clearBtn.setCursor(new java.awt.Cursor(java.awt.Cursor.HAND_CURSOR));
-        clearBtn.addActionListener(e -> {
-            searchField.setText("");
-            fireSearch();
-        });
-
-        searchRow.add(searchField, BorderLayout.CENTER);
-        searchRow.add(clearBtn, BorderLayout.EAST);
-        searchSection.add(searchRow, BorderLayout.CENTER);
-        container.add(searchSection, BorderLayout.NORTH);
-
-        queueManagementPanel = new JPanel();
-        queueManagementPanel.setLayout(new BoxLayout(queueManagementPanel, BoxLayout.Y_AXIS));
-        queueManagementPanel.setBackground(panelBg);
-
-        JScrollPane scrollPane = new JScrollPane(queueManagementPanel);
-        scrollPane.setBackground(panelBg);
-        scrollPane.setBorder(BorderFactory.createEmptyBorder());
-        scrollPane.getViewport().setBackground(panelBg);
-        scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
-        container.add(scrollPane, BorderLayout.CENTER);
-
-        return container;
-    }
-
-    private void fireSearch() {
-        if (onSearch != null) {
-            onSearch.accept(searchField.getText().trim());
-        }
-    }
-
-    public void renderQueue(List<Reservation> reservations, String searchQuery) {
-        queueManagementPanel.removeAll();
-        if (reservations == null || reservations.isEmpty()) {
-            JLabel emptyLabel = new JLabel("Queue is empty");
-            emptyLabel.setFont(new Font("Segoe UI", Font.PLAIN, 16));
-            emptyLabel.setForeground(textSecondary);
-            emptyLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
-            queueManagementPanel.add(emptyLabel);
-        } else {
-            int matchCount = 0;
-            for (Reservation reservation : reservations) {
-                if (reservation != null) {
-                    queueManagementPanel.add(createStaffReservationEntry(reservation));
-                    queueManagementPanel.add(Box.createVerticalStrut(10));
-                    matchCount++;
-                }
-            }
-            if (searchQuery != null && !searchQuery.isEmpty()) {
-                JLabel resultsLabel = new JLabel("Found " + matchCount + " result(s)");
-                resultsLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
-                resultsLabel.setForeground(textSecondary);
-                resultsLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
-                resultsLabel.setBorder(new EmptyBorder(0, 0, 10, 0));
-                queueManagementPanel.add(resultsLabel);
-                queueManagementPanel.add(Box.createVerticalStrut(5));
-            }
-        }
-        queueManagementPanel.revalidate();
-        queueManagementPanel.repaint();
-    }
-
-    private JPanel createStaffReservationEntry(Reservation reservation) {
-        JPanel entry = new JPanel(new BorderLayout(15, 0));
-        Color bgColor = new Color(inputBg.getRed() + 10, inputBg.getGreen() + 10, inputBg.getBlue() + 15);
-        entry.setBackground(bgColor);
-        Color borderColor = accentBlue;
-        entry.setBorder(BorderFactory.createCompoundBorder(
-            BorderFactory.createLineBorder(borderColor, 2),
-            new EmptyBorder(15, 15, 15, 15)
-        ));
-
-        JPanel infoPanel = new JPanel();
-        infoPanel.setLayout(new BoxLayout(infoPanel, BoxLayout.Y_AXIS));
-        infoPanel.setBackground(inputBg);
-
-        JLabel nameLabel = new JLabel("Name: " + reservation.getName());
-        nameLabel.setFont(new Font("Segoe UI", Font.BOLD, 14));
-        nameLabel.setForeground(textColor);
-        infoPanel.add(nameLabel);
-
-        JLabel contactLabel = new JLabel("Contact: " + reservation.getContactNumber() + " | Age: " + reservation.getAge());
-        contactLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
-        contactLabel.setForeground(textSecondary);
-        infoPanel.add(contactLabel);
-
-        JLabel roomLabel = new JLabel("Room: " + reservation.getRoom() + " | Time: " + reservation.getTimeSlot());
-        roomLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
-        roomLabel.setForeground(textSecondary);
-        infoPanel.add(roomLabel);
-
-        JLabel queueLabel = new JLabel("Queue: Q-" + reservation.getQueueNumber() + " | Status: " + reservation.getStatus());
-        queueLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
-        queueLabel.setForeground(reservation.getStatus().equals("APPROVED") ?
-            new Color(120, 200, 140) : textSecondary);
-        infoPanel.add(queueLabel);
-
-        entry.add(infoPanel, BorderLayout.CENTER);
-
-        JPanel buttonPanel = new JPanel();
-        buttonPanel.setLayout(new BoxLayout(buttonPanel, BoxLayout.Y_AXIS));
-        buttonPanel.setBackground(inputBg);
-
-        if ("WAITING".equals(reservation.getStatus())) {
-            JButton approveBtn = new JButton("Approve");
-            approveBtn.setFont(new Font("Segoe UI", Font.BOLD, 12));
-            approveBtn.setForeground(Color.WHITE);
-            approveBtn.setBackground(new Color(120, 200, 140));
-            approveBtn.setBorderPainted(false);
-            approveBtn.setFocusPainted(false);
-            approveBtn.setCursor(new java.awt.Cursor(java.awt.Cursor.HAND_CURSOR));
-            approveBtn.setAlignmentX(Component.CENTER_ALIGNMENT);
-            approveBtn.addActionListener(e -> {
-                if (onApprove != null) onApprove.accept(reservation);
-            });
-            buttonPanel.add(approveBtn);
-            buttonPanel.add(Box.createVerticalStrut(5));
-        }
-
-        JButton removeBtn = new JButton("Remove");
-        removeBtn.setFont(new Font("Segoe UI", Font.BOLD, 12));
-        removeBtn.setForeground(Color.WHITE);
-        removeBtn.setBackground(new Color(200, 80, 80));
-        removeBtn.setBorderPainted(false);
-        removeBtn.setFocusPainted(false);
-        removeBtn.setCursor(new java.awt.Cursor(java.awt.Cursor.HAND_CURSOR));
-        removeBtn.setAlignmentX(Component.CENTER_ALIGNMENT);
-        removeBtn.addActionListener(e -> {
-            if (onRemove != null) onRemove.accept(reservation);
-        });
-        buttonPanel.add(removeBtn);
-
-        entry.add(buttonPanel, BorderLayout.EAST);
-        return entry;
-    }
-}
-
+package view;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.Rectangle;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.swing.BorderFactory;
+import javax.swing.Box;
+import javax.swing.BoxLayout;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTextField;
+import javax.swing.ListCellRenderer;
+import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
+import javax.swing.border.EmptyBorder;
+import model.Reservation;
+import model.ReservationStatus;
+
+/**
+ * Staff panel view: lists queue entries with approve/remove and search.
+ * Entries are rendered by a virtualized JList so only visible rows are painted.
+ */
+public class StaffPanelView extends JPanel {
+
+    private final Color panelBg;
+    private final Color inputBg;
+    private final Color accentBlue;
+    private final Color textColor;
+    private final Color textSecondary;
+
+    private JList<Reservation> queueList;
+    private ReservationListModel listModel;
+    private StaffReservationCellRenderer cellRenderer;
+    private JLabel statusLabel;
+    private JTextField searchField;
+    private String currentQuery = "";
+    private final BiPredicate<Reservation, String> matcher;
+    // Queue changes seen since the pending search was submitted, replayed onto its results
+    private final List<QueueChange> changesDuringSearch = new ArrayList<>();
+    private boolean searchPending;
+
+    private record QueueChange(Reservation reservation, boolean added) {
+    }
+
+    private SearchPipeline<String, List<Reservation>> searchPipeline;
+    private Consumer<Reservation> onApprove;
+    private Consumer<Reservation> onRemove;
+    private Runnable onLogout;
+
+    public StaffPanelView(
+            Color panelBg,
+            Color inputBg,
+            Color accentBlue,
+            Color textColor,
+            Color textSecondary,
+            Runnable onLogout,
+            Function<String, List<Reservation>> onSearch,
+            BiPredicate<Reservation, String> matcher,
+            Consumer<Reservation> onApprove,
+            Consumer<Reservation> onRemove) {
+        this.panelBg = panelBg;
+        this.inputBg = inputBg;
+        this.accentBlue = accentBlue;
+        this.textColor = textColor;
+        this.textSecondary = textSecondary;
+        this.onLogout = onLogout;
+        this.matcher = matcher;
+        // onSearch runs on the background search thread; results are rendered on the EDT
+        this.searchPipeline = new SearchPipeline<>(
+            SearchPipeline.DEFAULT_DEBOUNCE_MILLIS,
+            onSearch,
+            this::applySearchResults,
+            this::showSearchFailure
+        );
+        this.onApprove = onApprove;
+        this.onRemove = onRemove;
+
+        setLayout(new BorderLayout());
+        setBackground(panelBg);
+        setBorder(new EmptyBorder(20, 20, 20, 20));
+
+        add(buildTitleBar(), BorderLayout.NORTH);
+        add(buildContent(), BorderLayout.CENTER);
+    }
+
+    private JPanel buildTitleBar() {
+        JPanel titlePanel = new JPanel(new BorderLayout());
+        titlePanel.setBackground(panelBg);
+
+        JLabel titleLabel = new JLabel("Staff Panel - Queue Management");
+        titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 24));
+        titleLabel.setForeground(textColor);
+        titlePanel.add(titleLabel, BorderLayout.WEST);
+
+        JButton logoutBtn = new JButton("Logout");
+        logoutBtn.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        logoutBtn.setForeground(Color.WHITE);
+        logoutBtn.setBackground(new Color(200, 80, 80));
+        logoutBtn.setBorderPainted(false);
+        logoutBtn.setFocusPainted(false);
+        logoutBtn.setCursor(new java.awt.Cursor(java.awt.Cursor.HAND_CURSOR));
+        logoutBtn.setPreferredSize(new Dimension(80, 30));
+        logoutBtn.addActionListener(e -> {
+            if (onLogout != null) onLogout.run();
+        });
+        titlePanel.add(logoutBtn, BorderLayout.EAST);
+        titlePanel.setBorder(new EmptyBorder(0, 0, 20, 0));
+        return titlePanel;
+    }
+
+    private JPanel buildContent() {
+        JPanel container = new JPanel(new BorderLayout());
+        container.setBackground(panelBg);
+
+        JPanel searchSection = new JPanel(new BorderLayout(10, 10));
+        searchSection.setBackground(panelBg);
+        searchSection.setBorder(new EmptyBorder(0, 0, 20, 0));
+
+        JLabel searchLabel = new JLabel("Search Queue Position or Customer:");
+        searchLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        searchLabel.setForeground(textColor);
+        searchLabel.setBorder(new EmptyBorder(0, 0, 8, 0));
+        searchSection.add(searchLabel, BorderLayout.NORTH);
+
+        JPanel searchRow = new JPanel(new BorderLayout(10, 0));
+        searchRow.setBackground(panelBg);
+
+        searchField = new JTextField();
+        searchField.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        searchField.setForeground(textColor);
+        searchField.setBackground(inputBg);
+        searchField.setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(new Color(50, 80, 120), 1),
+            new EmptyBorder(10, 12, 10, 12)
+        ));
+        searchField.setCaretColor(textColor);
+        searchField.setToolTipText("Search by name, contact, queue number, or room...");
+        searchField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+            @Override public void insertUpdate(javax.swing.event.DocumentEvent e) { submitSearch(false); }
+            @Override public void removeUpdate(javax.swing.event.DocumentEvent e) { submitSearch(false); }
+            @Override public void changedUpdate(javax.swing.event.DocumentEvent e) { submitSearch(false); }
+        });
+
+        JButton clearBtn = new JButton("Clear");
+        clearBtn.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        clearBtn.setForeground(textSecondary);
+        clearBtn.setBackground(panelBg);
+        clearBtn.setBorder(BorderFactory.createEmptyBorder(0, 12, 0, 12));
+        clearBtn.setFocusPainted(false);
+        clearBtn.setCursor(new java.awt.Cursor(java.awt.Cursor.HAND_CURSOR));
+        clearBtn.addActionListener(e -> {
+            searchField.setText("");
+            fireSearch();
+        });
+
+        searchRow.add(searchField, BorderLayout.CENTER);
+        searchRow.add(clearBtn, BorderLayout.EAST);
+        searchSection.add(searchRow, BorderLayout.CENTER);
+        container.add(searchSection, BorderLayout.NORTH);
+
+        statusLabel = new JLabel();
+        statusLabel.setForeground(textSecondary);
+        statusLabel.setBorder(new EmptyBorder(0, 0, 10, 0));
+
+        listModel = new ReservationListModel();
+        cellRenderer = new StaffReservationCellRenderer();
+        queueList = new JList<>(listModel);
+        queueList.setCellRenderer(cellRenderer);
+        queueList.setBackground(panelBg);
+        queueList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        // Fixed row size lets the list compute layout without rendering every row
+        Dimension rowSize = cellRenderer.prototypeSize();
+        queueList.setFixedCellWidth(rowSize.width);
+        queueList.setFixedCellHeight(rowSize.height);
+        queueList.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                handleListClick(e);
+            }
+        });
+
+        JPanel listContainer = new JPanel(new BorderLayout());
+        listContainer.setBackground(panelBg);
+        listContainer.add(statusLabel, BorderLayout.NORTH);
+
+        JScrollPane scrollPane = new JScrollPane(queueList);
+        scrollPane.setBackground(panelBg);
+        scrollPane.setBorder(BorderFactory.createEmptyBorder());
+        scrollPane.getViewport().setBackground(panelBg);
+        scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
+        listContainer.add(scrollPane, BorderLayout.CENTER);
+        container.add(listContainer, BorderLayout.CENTER);
+
+        return container;
+    }
+
+    private void fireSearch() {
+        submitSearch(true);
+    }
+
+    private void submitSearch(boolean now) {
+        // The search runs after this, so earlier changes are already in its results
+        changesDuringSearch.clear();
+        searchPending = true;
+        if (now) {
+            searchPipeline.submitNow(searchField.getText().trim());
+        } else {
+            searchPipeline.submit(searchField.getText().trim());
+        }
+    }
+
+    /**
+     * Publishes a background search, then replays the queue changes seen since
+     * it was submitted. Adding a listed row or removing an unlisted one does
+     * nothing, so changes the search already saw are harmless.
+     */
+    private void applySearchResults(String query, List<Reservation> results) {
+        searchPending = false;
+        currentQuery = query;
+        listModel.setAll(results);
+        for (QueueChange change : changesDuringSearch) {
+            if (!change.added()) {
+                listModel.remove(change.reservation());
+            } else if (matcher.test(change.reservation(), query)) {
+                listModel.add(change.reservation());
+            }
+        }
+        changesDuringSearch.clear();
+        updateStatusLabel();
+    }
+
+    private void showSearchFailure(RuntimeException failure) {
+        searchPending = false;
+        changesDuringSearch.clear();
+        statusLabel.setText("Search failed: " + failure.getMessage());
+        statusLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        statusLabel.setVisible(true);
+    }
+
+    public void renderQueue(List<Reservation> reservations, String searchQuery) {
+        currentQuery = searchQuery == null ? "" : searchQuery;
+        listModel.setAll(reservations);
+        updateStatusLabel();
+    }
+
+    /**
+     * Inserts a reservation that joined the queue at its place in queue order,
+     * if it matches the search, without rebuilding the list.
+     */
+    public void addReservation(Reservation reservation) {
+        if (searchPending) {
+            changesDuringSearch.add(new QueueChange(reservation, true));
+        }
+        if (matcher.test(reservation, currentQuery)) {
+            listModel.add(reservation);
+            updateStatusLabel();
+        }
+    }
+
+    /**
+     * Removes a single reservation row without rebuilding the list.
+     */
+    public void removeReservation(Reservation reservation) {
+        if (searchPending) {
+            changesDuringSearch.add(new QueueChange(reservation, false));
+        }
+        if (listModel.remove(reservation)) {
+            updateStatusLabel();
+        }
+    }
+
+    public String getSearchQuery() {
+        return currentQuery;
+    }
+
+    private void updateStatusLabel() {
+        if (listModel.getSize() == 0 && currentQuery.isEmpty()) {
+            statusLabel.setText("Queue is empty");
+            statusLabel.setFont(new Font("Segoe UI", Font.PLAIN, 16));
+            statusLabel.setVisible(true);
+        } else if (!currentQuery.isEmpty()) {
+            statusLabel.setText("Found " + listModel.getSize() + " result(s)");
+            statusLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+            statusLabel.setVisible(true);
+        } else {
+            statusLabel.setVisible(false);
+        }
+    }
+
+    private void handleListClick(MouseEvent e) {
+        int index = queueList.locationToIndex(e.getPoint());
+        if (index < 0) return;
+        Rectangle bounds = queueList.getCellBounds(index, index);
+        if (bounds == null || !bounds.contains(e.getPoint())) return;
+
+        // Lay out the shared renderer for this row and hit-test its stamped buttons
+        Reservation reservation = listModel.getElementAt(index);
+        Component rendered = cellRenderer.getListCellRendererComponent(queueList, reservation, index, false, false);
+        rendered.setBounds(0, 0, bounds.width, bounds.height);
+        layoutTree(rendered);
+        Component hit = SwingUtilities.getDeepestComponentAt(rendered, e.getX() - bounds.x, e.getY() - bounds.y);
+        if (hit == cellRenderer.approveBtn && cellRenderer.approveBtn.isVisible()) {
+            if (onApprove != null) onApprove.accept(reservation);
+        } else if (hit == cellRenderer.removeBtn) {
+            if (onRemove != null) onRemove.accept(reservation);
+        }
+    }
+
+    private static void layoutTree(Component component) {
+        if (component instanceof Container) {
+            Container container = (Container) component;
+            container.doLayout();
+            for (Component child : container.getComponents()) {
+                layoutTree(child);
+            }
+        }
+    }
+
+    /**
+     * Single reusable row component; JList stamps it for each visible row only.
+     */
+    private class StaffReservationCellRenderer extends JPanel implements ListCellRenderer<Reservation> {
+
+        private final JLabel nameLabel = new JLabel();
+        private final JLabel contactLabel = new JLabel();
+        private final JLabel roomLabel = new JLabel();
+        private final JLabel queueLabel = new JLabel();
+        private final JButton approveBtn = new JButton("Approve");
+        private final JButton removeBtn = new JButton("Remove");
+
+        StaffReservationCellRenderer() {
+            super(new BorderLayout());
+            setBackground(panelBg);
+            setBorder(new EmptyBorder(0, 0, 10, 0));
+
+            JPanel entry = new JPanel(new BorderLayout(15, 0));
+            Color bgColor = new Color(inputBg.getRed() + 10, inputBg.getGreen() + 10, inputBg.getBlue() + 15);
+            entry.setBackground(bgColor);
+            Color borderColor = accentBlue;
+            entry.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createLineBorder(borderColor, 2),
+                new EmptyBorder(15, 15, 15, 15)
+            ));
+
+            JPanel infoPanel = new JPanel();
+            infoPanel.setLayout(new BoxLayout(infoPanel, BoxLayout.Y_AXIS));
+            infoPanel.setBackground(inputBg);
+
+            nameLabel.setFont(new Font("Segoe UI", Font.BOLD, 14));
+            nameLabel.setForeground(textColor);
+            infoPanel.add(nameLabel);
+
+            contactLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+            contactLabel.setForeground(textSecondary);
+            infoPanel.add(contactLabel);
+
+            roomLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+            roomLabel.setForeground(textSecondary);
+            infoPanel.add(roomLabel);
+
+            queueLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+            infoPanel.add(queueLabel);
+
+            entry.add(infoPanel, BorderLayout.CENTER);
+
+            JPanel buttonPanel = new JPanel();
+            buttonPanel.setLayout(new BoxLayout(buttonPanel, BoxLayout.Y_AXIS));
+            buttonPanel.setBackground(inputBg);
+
+            approveBtn.setFont(new Font("Segoe UI", Font.BOLD, 12));
+            approveBtn.setForeground(Color.WHITE);
+            approveBtn.setBackground(new Color(120, 200, 140));
+            approveBtn.setBorderPainted(false);
+            approveBtn.setFocusPainted(false);
+            approveBtn.setAlignmentX(Component.CENTER_ALIGNMENT);
+            buttonPanel.add(approveBtn);
+            buttonPanel.add(Box.createVerticalStrut(5));
+
+            removeBtn.setFont(new Font("Segoe UI", Font.BOLD, 12));
+            removeBtn.setForeground(Color.WHITE);
+            removeBtn.setBackground(new Color(200, 80, 80));
+            removeBtn.setBorderPainted(false);
+            removeBtn.setFocusPainted(false);
+            removeBtn.setAlignmentX(Component.CENTER_ALIGNMENT);
+            buttonPanel.add(removeBtn);
+
+            entry.add(buttonPanel, BorderLayout.EAST);
+            add(entry, BorderLayout.CENTER);
+        }
+
+        /**
+         * Size of a row filled with sample text. Measured from the labels rather
+         * than a prototype {@link Reservation}, which would be a row in the shared store.
+         */
+        Dimension prototypeSize() {
+            nameLabel.setText("Name: Prototype Customer Name");
+            contactLabel.setText("Contact: 00000000000 | Age: 99");
+            roomLabel.setText("Room: X-000 | Time: 00:00 - 00:00");
+            queueLabel.setText("Queue: Q-1 | Status: " + ReservationStatus.WAITING);
+            approveBtn.setVisible(true);
+            return getPreferredSize();
+        }
+
+        @Override
+        public Component getListCellRendererComponent(JList<? extends Reservation> list, Reservation reservation,
+                int index, boolean isSelected, boolean cellHasFocus) {
+            nameLabel.setText("Name: " + reservation.getName());
+            contactLabel.setText("Contact: " + reservation.getContactNumber() + " | Age: " + reservation.getAge());
+            roomLabel.setText("Room: " + reservation.getRoom() + " | Time: " + reservation.getTimeSlot());
+            queueLabel.setText("Queue: Q-" + reservation.getQueueNumber() + " | Status: " + reservation.getStatus());
+            queueLabel.setForeground(reservation.getStatus() == ReservationStatus.APPROVED ?
+                new Color(120, 200, 140) : textSecondary);
+            approveBtn.setVisible(reservation.getStatus() == ReservationStatus.WAITING);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package view;
+
+import javax.swing.AbstractListModel;
+import model.Transaction;
+import model.TransactionLedger;
+
+/**
+ * Paged, newest-first list model over a {@link TransactionLedger}. Only the
+ * pages the user has scrolled to are exposed to the list; rows are read from
+ * the ledger on demand, so nothing is copied. Rows are read as of the last
+ * {@link #refresh}, so a transaction appended before its insert event is
+ * published doesn't shift the rows the list is showing.
+ */
+public class TransactionPageModel extends AbstractListModel<Transaction> {
+
+    private final TransactionLedger ledger;
+    private final int pageSize;
+    private int loadedCount;
+    private int reportedSize;
+    private long seenAppendedCount;
+
+    public TransactionPageModel(TransactionLedger ledger, int pageSize) {
+        this.ledger = ledger;
+        this.pageSize = pageSize;
+        this.loadedCount = pageSize;
+        this.seenAppendedCount = ledger.getAppendedCount();
+        this.reportedSize = computeSize();
+    }
+
+    @Override
+    public int getSize() {
+        return reportedSize;
+    }
+
+    @Override
+    public Transaction getElementAt(int index) {
+        return ledger.getAsOf(seenAppendedCount, index);
+    }
+
+    public boolean hasMorePages() {
+        return loadedCount < ledger.size();
+    }
+
+    /**
+     * Exposes the next older page, if any.
+     */
+    public void loadNextPage() {
+        if (!hasMorePages()) {
+            return;
+        }
+        loadedCount += pageSize;
+        int oldSize = reportedSize;
+        reportedSize = computeSize();
+        if (reportedSize > oldSize) {
+            fireIntervalAdded(this, oldSize, reportedSize - 1);
+        }
+    }
+
+    /**
+     * Picks up transactions appended since the last call. New rows are inserted
+     * at the top; rows that fell out of the ledger's retention are dropped at the bottom.
+     */
+    public void refresh() {
+        long appended = ledger.getAppendedCount();
+        int added = (int) Math.min(appended - seenAppendedCount, Integer.MAX_VALUE - (long) loadedCount);
+        seenAppendedCount = appended;
+        if (added <= 0) {
+            return;
+        }
+        loadedCount += added;
+        int oldSize = reportedSize;
+        reportedSize = computeSize();
+
+        int removed = oldSize + added - reportedSize;
+        if (removed > 0 && removed <= oldSize) {
+            fireIntervalRemoved(this, oldSize - removed, oldSize - 1);
+            fireIntervalAdded(this, 0, added - 1);
+        } else if (removed > 0) {
+            fireContentsChanged(this, 0, Math.max(reportedSize - 1, 0));
+        } else {
+            fireIntervalAdded(this, 0, added - 1);
+        }
+    }
+
+    private int computeSize() {
+        return Math.min(loadedCount, ledger.size());
+    }
+}
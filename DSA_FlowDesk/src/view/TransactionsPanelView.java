@@ -1,114 +1,155 @@
-package view;
-
-import java.awt.BorderLayout;
-import java.awt.Color;
-import java.awt.FlowLayout;
-import java.awt.Font;
-import java.util.ArrayList;
-import java.util.List;
-import javax.swing.BorderFactory;
-import javax.swing.Box;
-import javax.swing.BoxLayout;
-import javax.swing.JLabel;
-import javax.swing.JPanel;
-import javax.swing.JScrollPane;
-import javax.swing.border.EmptyBorder;
-import model.Transaction;
-
-/**
- * Transactions list view-only panel.
- */
-public class TransactionsPanelView extends JPanel {
-
-    private final Color panelBg;
-    private final Color inputBg;
-    private final Color textColor;
-    private final Color textSecondary;
-
-    private JPanel listPanel;
-
-    public TransactionsPanelView(Color panelBg, Color inputBg, Color textColor, Color textSecondary, List<Transaction> transactions) {
-        this.panelBg = panelBg;
-        this.inputBg = inputBg;
-        this.textColor = textColor;
-        this.textSecondary = textSecondary;
-
-        setLayout(new BorderLayout());
-        setBackground(panelBg);
-        setBorder(new EmptyBorder(15, 15, 15, 15));
-
-        listPanel = new JPanel();
-        listPanel.setLayout(new BoxLayout(listPanel, BoxLayout.Y_AXIS));
-        listPanel.setBackground(panelBg);
-
-        JScrollPane scrollPane = new JScrollPane(listPanel);
-        scrollPane.setBackground(panelBg);
-        scrollPane.setBorder(BorderFactory.createEmptyBorder());
-        scrollPane.getViewport().setBackground(panelBg);
-        scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
-        scrollPane.getVerticalScrollBar().setBackground(panelBg);
-        scrollPane.getVerticalScrollBar().setUI(new javax.swing.plaf.basic.BasicScrollBarUI() {
-            @Override
-            protected void configureScrollBarColors() {
-                this.thumbColor = new Color(50, 80, 120);
-                this.trackColor = panelBg;
-            }
-        });
-
-        add(scrollPane, BorderLayout.CENTER);
-
-        setTransactions(transactions);
-    }
-
-    public void setTransactions(List<Transaction> transactions) {
-        listPanel.removeAll();
-        List<Transaction> list = transactions == null ? new ArrayList<>() : transactions;
-        int index = 1;
-        for (Transaction transaction : list) {
-            listPanel.add(createTransactionEntry(transaction, index++));
-            listPanel.add(Box.createVerticalStrut(10));
-        }
-        listPanel.revalidate();
-        listPanel.repaint();
-    }
-
-    private JPanel createTransactionEntry(Transaction transaction, int index) {
-        JPanel entry = new JPanel();
-        entry.setLayout(new BoxLayout(entry, BoxLayout.Y_AXIS));
-        entry.setBackground(inputBg);
-        entry.setBorder(BorderFactory.createCompoundBorder(
-            BorderFactory.createLineBorder(new Color(50, 80, 120), 1),
-            new EmptyBorder(12, 15, 12, 15)
-        ));
-
-        JPanel firstLine = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 0));
-        firstLine.setBackground(inputBg);
-
-        JLabel indexLabel = new JLabel(index + ". ");
-        indexLabel.setFont(new Font("Segoe UI", Font.PLAIN, 13));
-        indexLabel.setForeground(textColor);
-        firstLine.add(indexLabel);
-
-        JLabel idLabel = new JLabel("Transaction ID: " + transaction.getId() + " | User: " + transaction.getUserName());
-        idLabel.setFont(new Font("Segoe UI", Font.PLAIN, 13));
-        idLabel.setForeground(textColor);
-        firstLine.add(idLabel);
-
-        entry.add(firstLine);
-        entry.add(Box.createVerticalStrut(5));
-
-        JLabel descLabel = new JLabel(transaction.getDescription());
-        descLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
-        descLabel.setForeground(textSecondary);
-        entry.add(descLabel);
-        entry.add(Box.createVerticalStrut(5));
-
-        JLabel dateLabel = new JLabel("Date: " + transaction.getDate() + " | Time: " + transaction.getTime());
-        dateLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
-        dateLabel.setForeground(textSecondary);
-        entry.add(dateLabel);
-
-        return entry;
-    }
-}
-
+package view;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.FlowLayout;
+import java.awt.Font;
+import javax.swing.BorderFactory;
+import javax.swing.Box;
+import javax.swing.BoxLayout;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.JScrollBar;
+import javax.swing.JScrollPane;
+import javax.swing.ListCellRenderer;
+import javax.swing.border.EmptyBorder;
+import model.Transaction;
+import model.TransactionLedger;
+
+/**
+ * Transactions list view-only panel. Virtualized and paged: older pages are
+ * loaded from the ledger as the user scrolls down.
+ */
+public class TransactionsPanelView extends JPanel {
+
+    private final Color panelBg;
+    private final Color inputBg;
+    private final Color textColor;
+    private final Color textSecondary;
+
+    // Rows within this distance of the bottom trigger loading the next page
+    private static final int LOAD_AHEAD_ROWS = 5;
+
+    private JList<Transaction> transactionList;
+    private TransactionPageModel pageModel;
+
+    public TransactionsPanelView(Color panelBg, Color inputBg, Color textColor, Color textSecondary,
+            TransactionLedger ledger, int pageSize) {
+        this.panelBg = panelBg;
+        this.inputBg = inputBg;
+        this.textColor = textColor;
+        this.textSecondary = textSecondary;
+
+        setLayout(new BorderLayout());
+        setBackground(panelBg);
+        setBorder(new EmptyBorder(15, 15, 15, 15));
+
+        pageModel = new TransactionPageModel(ledger, pageSize);
+        transactionList = new JList<>(pageModel);
+        transactionList.setCellRenderer(new TransactionCellRenderer());
+        transactionList.setBackground(panelBg);
+        // Fixed row height: only rows inside the viewport are ever rendered
+        transactionList.setPrototypeCellValue(new Transaction(999999, "Prototype User", "Prototype description", 0L));
+
+        JScrollPane scrollPane = new JScrollPane(transactionList);
+        scrollPane.setBackground(panelBg);
+        scrollPane.setBorder(BorderFactory.createEmptyBorder());
+        scrollPane.getViewport().setBackground(panelBg);
+        scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
+        scrollPane.getVerticalScrollBar().setBackground(panelBg);
+        scrollPane.getVerticalScrollBar().setUI(new javax.swing.plaf.basic.BasicScrollBarUI() {
+            @Override
+            protected void configureScrollBarColors() {
+                this.thumbColor = new Color(50, 80, 120);
+                this.trackColor = panelBg;
+            }
+        });
+        // Fetch the next older page when the user scrolls near the bottom
+        scrollPane.getVerticalScrollBar().addAdjustmentListener(e -> {
+            JScrollBar bar = (JScrollBar) e.getAdjustable();
+            int rowHeight = Math.max(transactionList.getFixedCellHeight(), 1);
+            if (bar.getValue() + bar.getVisibleAmount() >= bar.getMaximum() - LOAD_AHEAD_ROWS * rowHeight) {
+                pageModel.loadNextPage();
+            }
+        });
+
+        add(scrollPane, BorderLayout.CENTER);
+    }
+
+    /**
+     * Shows transactions appended since the last refresh without rebuilding the list.
+     */
+    public void refresh() {
+        pageModel.refresh();
+    }
+
+    /**
+     * Single reusable row component stamped by the JList for each visible row.
+     */
+    private class TransactionCellRenderer extends JPanel implements ListCellRenderer<Transaction> {
+
+        private final JLabel indexLabel = new JLabel();
+        private final JLabel idLabel = new JLabel();
+        private final JLabel descLabel = new JLabel();
+        private final JLabel dateLabel = new JLabel();
+
+        TransactionCellRenderer() {
+            super(new BorderLayout());
+            setBackground(panelBg);
+            setBorder(new EmptyBorder(0, 0, 10, 0));
+
+            JPanel entry = new JPanel();
+            entry.setLayout(new BoxLayout(entry, BoxLayout.Y_AXIS));
+            entry.setBackground(inputBg);
+            entry.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createLineBorder(new Color(50, 80, 120), 1),
+                new EmptyBorder(12, 15, 12, 15)
+            ));
+
+            JPanel firstLine = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 0));
+            firstLine.setBackground(inputBg);
+            firstLine.setAlignmentX(LEFT_ALIGNMENT);
+
+            indexLabel.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+            indexLabel.setForeground(textColor);
+            firstLine.add(indexLabel);
+
+            idLabel.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+            idLabel.setForeground(textColor);
+            firstLine.add(idLabel);
+
+            entry.add(firstLine);
+            entry.add(Box.createVerticalStrut(5));
+
+            descLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+            descLabel.setForeground(textSecondary);
+            entry.add(descLabel);
+            entry.add(Box.createVerticalStrut(5));
+
+            dateLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+            dateLabel.setForeground(textSecondary);
+            entry.add(dateLabel);
+
+            add(entry, BorderLayout.CENTER);
+        }
+
+        @Override
+        public Component getListCellRendererComponent(JList<? extends Transaction> list, Transaction transaction,
+                int index, boolean isSelected, boolean cellHasFocus) {
+            indexLabel.setText((index + 1) + ". ");
+            if (transaction == null) {
+                // Fell out of retention before the list caught up
+                idLabel.setText("");
+                descLabel.setText("");
+                dateLabel.setText("");
+                return this;
+            }
+            idLabel.setText("Transaction ID: " + transaction.getId() + " | User: " + transaction.getUserName());
+            descLabel.setText(transaction.getDescription());
+            dateLabel.setText("Date: " + transaction.getDate() + " | Time: " + transaction.getTime());
+            return this;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+import controller.JournalFailureTest;
+import controller.SnapshotRecoveryTest;
+import model.ReservationQueueTest;
+import model.SeatCalendarTest;
+import storage.JournalTest;
+
+/**
+ * Runs every test class except the timed {@code controller.HttpLoadTest}. The
+ * project builds with plain {@code javac} and has no test framework on its
+ * classpath, so each test is a class in the package it covers whose
+ * {@code main} throws {@link AssertionError} on the first failed check:
+ * <pre>
+ *   javac -d out $(find src -name '*.java')
+ *   javac -cp out -d out-test $(find test -name '*.java')
+ *   java -cp out:out-test AllTests
+ * </pre>
+ */
+public class AllTests {
+
+    public static void main(String[] args) throws Exception {
+        ReservationQueueTest.main(args);
+        JournalTest.main(args);
+        JournalFailureTest.main(args);
+        SnapshotRecoveryTest.main(args);
+        SeatCalendarTest.main(args);
+    }
+}
@@ -0,0 +1,183 @@
+package controller;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Load test for {@link FlowDeskHttpServer}: keep-alive connections that each
+ * keep {@value #PIPELINE_DEPTH} requests in flight, against a journaled engine
+ * in a temporary directory. Two phases run for {@code flowdesk.load.seconds}
+ * (default {@value #DEFAULT_SECONDS}) each:
+ * <ul>
+ *   <li>lookup: {@code GET /api/queue/{n}} over a 10k-entry queue;</li>
+ *   <li>join: {@code POST /api/queue} with a new name each time.</li>
+ * </ul>
+ * Every response must be a 200/201, and each phase must reach its target in
+ * requests per second, overridable with {@code flowdesk.load.lookupTarget}
+ * and {@code flowdesk.load.joinTarget}. The client runs in the same JVM, so
+ * the figures are a floor for a separate load generator. Not part of
+ * {@code AllTests}, since it is timed: {@code java -cp out:out-test controller.HttpLoadTest}.
+ */
+public class HttpLoadTest {
+
+    static final int LOOKUP_TARGET = 5000;
+    static final int JOIN_TARGET = 2000;
+
+    private static final int CONNECTIONS = 8;
+    private static final int PIPELINE_DEPTH = 16;
+    private static final int DEFAULT_SECONDS = 5;
+    private static final int QUEUE_SIZE = 10000;
+    private static final String ROOM = "C-301";
+    private static final String SLOT = "15:00 - 17:00";
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("flowdesk.snapshot.intervalSeconds", "0");
+        FlowDeskHttpServer.preferNoDelay();
+        long seconds = Long.getLong("flowdesk.load.seconds", DEFAULT_SECONDS);
+        int lookupTarget = Integer.getInteger("flowdesk.load.lookupTarget", LOOKUP_TARGET);
+        int joinTarget = Integer.getInteger("flowdesk.load.joinTarget", JOIN_TARGET);
+        Path dir = Files.createTempDirectory("http-load");
+        FlowDeskEngine engine = FlowDeskEngine.openJournaled(dir);
+        for (int i = 0; i < QUEUE_SIZE; i++) {
+            engine.enqueue("Load " + i, "0917" + i, 20, ROOM, SLOT);
+        }
+        int firstQueueNumber = engine.getQueue().peek().getQueueNumber();
+        FlowDeskHttpServer server = new FlowDeskHttpServer(engine, 0, "load-test");
+        server.start();
+        try {
+            // Warm up the JIT before anything is timed
+            run(server.getPort(), 1, i -> lookup(firstQueueNumber + i % QUEUE_SIZE));
+
+            double lookups = run(server.getPort(), seconds, i -> lookup(firstQueueNumber + i % QUEUE_SIZE));
+            AtomicInteger joins = new AtomicInteger();
+            double joined = run(server.getPort(), seconds, i -> join("Joiner " + joins.incrementAndGet()));
+            System.out.printf("lookup: %.0f req/s (target %d)%n", lookups, lookupTarget);
+            System.out.printf("join:   %.0f req/s (target %d)%n", joined, joinTarget);
+            check(lookups >= lookupTarget, "lookups below target");
+            check(joined >= joinTarget, "joins below target");
+        } finally {
+            server.stop(0);
+            engine.shutdown(1, TimeUnit.SECONDS);
+        }
+        System.out.println("HttpLoadTest passed");
+    }
+
+    private interface RequestSource {
+        byte[] request(int i);
+    }
+
+    /**
+     * Drives every connection for {@code seconds} and returns the completed requests per second.
+     */
+    private static double run(int port, long seconds, RequestSource requests) throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch start = new CountDownLatch(1);
+        long[] window = new long[2];
+        List<Thread> clients = new ArrayList<>();
+        for (int c = 0; c < CONNECTIONS; c++) {
+            clients.add(new Thread(() -> {
+                try (Socket socket = new Socket("localhost", port)) {
+                    socket.setTcpNoDelay(true);
+                    OutputStream out = socket.getOutputStream();
+                    InputStream in = new BufferedInputStream(socket.getInputStream(), 64 << 10);
+                    start.await();
+                    int inFlight = 0;
+                    while (System.nanoTime() < window[1] || inFlight > 0) {
+                        // Top the pipeline up, then read one response
+                        while (inFlight < PIPELINE_DEPTH && System.nanoTime() < window[1]) {
+                            out.write(requests.request(next.getAndIncrement()));
+                            inFlight++;
+                        }
+                        out.flush();
+                        int status = readResponse(in);
+                        check(status == 200 || status == 201, "status " + status);
+                        inFlight--;
+                        if (System.nanoTime() < window[1]) {
+                            completed.incrementAndGet();
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }));
+        }
+        clients.forEach(Thread::start);
+        window[0] = System.nanoTime();
+        window[1] = window[0] + seconds * 1_000_000_000L;
+        start.countDown();
+        for (Thread client : clients) {
+            client.join();
+        }
+        if (failure.get() != null) {
+            throw new AssertionError("load client failed", failure.get());
+        }
+        return completed.get() / (double) seconds;
+    }
+
+    private static byte[] lookup(int queueNumber) {
+        return ("GET /api/queue/" + queueNumber + " HTTP/1.1\r\nHost: localhost\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] join(String name) {
+        String body = "name=" + name.replace(' ', '+') + "&contact=09170000000&age=21&room=" + ROOM
+            + "&slot=" + SLOT.replace(" ", "+");
+        return ("POST /api/queue HTTP/1.1\r\nHost: localhost\r\n"
+            + "Content-Type: application/x-www-form-urlencoded\r\n"
+            + "Content-Length: " + body.length() + "\r\n\r\n" + body).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Reads one response (status line, headers, Content-Length body) and returns its status.
+     */
+    private static int readResponse(InputStream in) throws IOException {
+        String statusLine = readLine(in);
+        int status = Integer.parseInt(statusLine.substring(9, 12));
+        int length = -1;
+        for (String header; !(header = readLine(in)).isEmpty(); ) {
+            if (header.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+                length = Integer.parseInt(header.substring(15).trim());
+            }
+        }
+        check(length >= 0, "response without Content-Length");
+        for (int read = 0; read < length; ) {
+            long skipped = in.skip(length - read);
+            if (skipped <= 0) {
+                check(in.read() >= 0, "connection closed mid-body");
+                skipped = 1;
+            }
+            read += (int) skipped;
+        }
+        return status;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder(64);
+        for (int c; (c = in.read()) != '\n'; ) {
+            check(c >= 0, "connection closed mid-response");
+            if (c != '\r') {
+                line.append((char) c);
+            }
+        }
+        return line.toString();
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package controller;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import model.Reservation;
+import model.ReservationStatus;
+import model.Seat;
+import storage.JournalException;
+
+/**
+ * When the journal refuses a change, the engine is left as it was: no seat
+ * taken, no row held, no reservation missing from the queue.
+ */
+public class JournalFailureTest {
+
+    private static final String ROOM = "C-301";
+    private static final String SLOT = "15:00 - 17:00";
+
+    public static void main(String[] args) throws IOException {
+        System.setProperty("flowdesk.snapshot.intervalSeconds", "0");
+        FlowDeskEngine engine = FlowDeskEngine.openJournaled(Files.createTempDirectory("journal-failure"));
+        Reservation middle = engine.getQueue().get(2);
+        int position = engine.positionOf(middle);
+        Seat seat = engine.getSeatInventory().getSeat(ROOM, SLOT).on(LocalDate.now());
+        int available = seat.getAvailableSeats();
+        int waiting = engine.countByStatus(ReservationStatus.WAITING);
+        int queued = engine.getQueue().size();
+
+        engine.getJournal().close();
+
+        expectJournalFailure(() -> engine.enqueue("Late Comer", "0917", 30, ROOM, SLOT));
+        check(seat.getAvailableSeats() == available, "a failed join gives its seat back");
+        check(engine.countByStatus(ReservationStatus.WAITING) == waiting, "a failed join holds no row");
+        check(engine.findWaiting("Late Comer") == null, "a failed join is not in the queue");
+
+        expectJournalFailure(() -> engine.reserveSeat(ROOM, SLOT));
+        check(seat.getAvailableSeats() == available, "a failed seat booking gives the seat back");
+
+        expectJournalFailure(() -> engine.approve(middle));
+        expectJournalFailure(() -> engine.remove(middle));
+        expectJournalFailure(() -> engine.cancel(middle));
+        check(engine.getQueue().size() == queued, "failed departures leave the queue as it was");
+        check(engine.positionOf(middle) == position, "the reservation is back at its old position");
+        check(middle.getStatus() == ReservationStatus.WAITING, "the reservation is still waiting");
+        check(engine.countByStatus(ReservationStatus.WAITING) == waiting, "no status count moved");
+        check(engine.getApprovedReservations().isEmpty(), "nothing was approved");
+
+        System.out.println("JournalFailureTest passed");
+    }
+
+    private static void expectJournalFailure(Runnable operation) {
+        try {
+            operation.run();
+            throw new AssertionError("operation succeeded on a closed journal");
+        } catch (JournalException expected) {
+            // refused
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package controller;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import model.Reservation;
+import model.ReservationStatus;
+import model.Seat;
+
+/**
+ * Recovery from a snapshot plus the journal written after it: the recovered
+ * engine matches the one that wrote them, with and without a clean shutdown.
+ */
+public class SnapshotRecoveryTest {
+
+    private static final String ROOM = "C-301";
+    private static final String SLOT = "15:00 - 17:00";
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        // Snapshots only when the test asks for them
+        System.setProperty("flowdesk.snapshot.intervalSeconds", "0");
+        snapshotPlusTail();
+        journalOnly();
+        cleanShutdown();
+        System.out.println("SnapshotRecoveryTest passed");
+    }
+
+    private static void snapshotPlusTail() throws IOException {
+        Path dir = Files.createTempDirectory("recovery-tail");
+        FlowDeskEngine engine = FlowDeskEngine.openJournaled(dir);
+        churn(engine, "before", 60);
+        engine.writeSnapshot();
+        churn(engine, "after", 45);
+        engine.reserveSeat(ROOM, SLOT);
+        String expected = state(engine);
+        crash(engine);
+
+        FlowDeskEngine recovered = FlowDeskEngine.openJournaled(dir);
+        String recoveryLog = recovered.getSystemLogs().getMessage(0);
+        check(recoveryLog.contains("snapshot of") && !recoveryLog.contains("+ 0 journal records"),
+            "recovered from the snapshot and a journal tail: " + recoveryLog);
+        check(state(recovered).equals(expected), "snapshot + tail reproduces the state\n  " + expected + "\n  " + state(recovered));
+
+        // The recovered engine carries on numbering and journaling where the old one stopped
+        Reservation next = recovered.enqueue("Next", "1", 30, ROOM, SLOT).reservation();
+        check(next.getQueueNumber() == engine.getQueue().peekNextQueueNumber(), "queue numbers continue");
+        String afterJoin = state(recovered);
+        crash(recovered);
+        check(state(FlowDeskEngine.openJournaled(dir)).equals(afterJoin), "appends after recovery are recovered too");
+    }
+
+    private static void journalOnly() throws IOException {
+        Path dir = Files.createTempDirectory("recovery-journal");
+        FlowDeskEngine engine = FlowDeskEngine.openJournaled(dir);
+        churn(engine, "only", 40);
+        String expected = state(engine);
+        crash(engine);
+
+        FlowDeskEngine recovered = FlowDeskEngine.openJournaled(dir);
+        check(recovered.getSystemLogs().getMessage(0).contains("no snapshot"), "recovered from the journal alone");
+        check(state(recovered).equals(expected), "journal replay reproduces the state");
+    }
+
+    private static void cleanShutdown() throws IOException, InterruptedException {
+        Path dir = Files.createTempDirectory("recovery-shutdown");
+        FlowDeskEngine engine = FlowDeskEngine.openJournaled(dir);
+        churn(engine, "clean", 30);
+        String expected = state(engine);
+        engine.shutdown(1, TimeUnit.SECONDS);
+
+        FlowDeskEngine recovered = FlowDeskEngine.openJournaled(dir);
+        check(recovered.getSystemLogs().getMessage(0).contains("+ 0 journal records"), "shutdown leaves nothing to replay");
+        check(state(recovered).equals(expected), "shutdown snapshot reproduces the state");
+    }
+
+    /**
+     * Joins {@code count} customers and moves some of them out of the queue in every possible way.
+     */
+    private static void churn(FlowDeskEngine engine, String prefix, int count) {
+        for (int i = 0; i < count; i++) {
+            Reservation reservation = engine.enqueue(prefix + "-" + i, "0917" + i, 20 + i % 10, ROOM, SLOT).reservation();
+            switch (i % 5) {
+                case 1 -> engine.approve(engine.getQueue().peek());
+                case 2 -> engine.cancel(reservation);
+                case 3 -> engine.remove(engine.getQueue().get(engine.getQueue().size() / 2));
+                default -> {
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops using the engine as a crash would: the journal is flushed, but no final snapshot is written.
+     */
+    private static void crash(FlowDeskEngine engine) throws IOException {
+        engine.getJournal().close();
+    }
+
+    private static String state(FlowDeskEngine engine) {
+        StringBuilder state = new StringBuilder("queue=");
+        for (Reservation reservation : engine.getQueue()) {
+            state.append(reservation.getQueueNumber()).append(':').append(reservation.getName()).append(',');
+        }
+        state.append(" approved=");
+        for (Reservation reservation : engine.getApprovedReservations()) {
+            state.append(reservation.getQueueNumber()).append(':').append(reservation.getName()).append(',');
+        }
+        state.append(" seats=");
+        for (Seat seat : engine.getSeatInventory().getAllSeats()) {
+            for (LocalDate date : seat.getBookedDates()) {
+                state.append(seat.getRoomCode()).append('@').append(date).append('=')
+                    .append(seat.on(date).getAvailableSeats()).append(',');
+            }
+        }
+        state.append(" waiting=").append(engine.countByStatus(ReservationStatus.WAITING))
+            .append(" approvedCount=").append(engine.countByStatus(ReservationStatus.APPROVED))
+            .append(" next=").append(engine.getQueue().peekNextQueueNumber())
+            .append(" transactions=").append(engine.getTransactions().getAppendedCount());
+        return state.toString();
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
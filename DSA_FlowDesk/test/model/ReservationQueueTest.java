@@ -0,0 +1,134 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Queue order, positions and rank lookups while several threads offer and
+ * remove at once, across rooms and time slots (i.e. shards).
+ */
+public class ReservationQueueTest {
+
+    private static final int THREADS = 8;
+    private static final int PER_THREAD = 3000;
+    private static final String[] ROOMS = {"A-201", "A-102", "B-101"};
+    private static final String[] SLOTS = {"10:00 - 12:00", "14:00 - 16:00"};
+
+    public static void main(String[] args) throws InterruptedException {
+        for (int round = 0; round < 5; round++) {
+            concurrentOfferAndRemove();
+        }
+        System.out.println("ReservationQueueTest passed");
+    }
+
+    private static void concurrentOfferAndRemove() throws InterruptedException {
+        ReservationStore store = new ReservationStore();
+        ReservationQueue queue = new ReservationQueue();
+        Set<Integer> removed = ConcurrentHashMap.newKeySet();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            writers.add(new Thread(() -> {
+                try {
+                    start.await();
+                    List<Reservation> mine = new ArrayList<>();
+                    for (int i = 0; i < PER_THREAD; i++) {
+                        String room = ROOMS[(thread + i) % ROOMS.length];
+                        String slot = SLOTS[i % SLOTS.length];
+                        Reservation reservation = store.create("T" + thread + "-" + i, "09" + i, 20, room, slot,
+                            queue.nextQueueNumber());
+                        check(queue.offer(reservation), "offer accepted");
+                        mine.add(reservation);
+                        // Remove from the middle as well as the front of this thread's entries
+                        if (i % 3 == 2) {
+                            Reservation victim = mine.remove(mine.size() / 2);
+                            check(queue.remove(victim), "remove of a queued reservation");
+                            check(!queue.remove(victim), "second remove of the same reservation");
+                            removed.add(victim.getQueueNumber());
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }));
+        }
+        Thread reader = new Thread(() -> {
+            try {
+                start.await();
+                while (writing.get()) {
+                    int previous = 0;
+                    for (Reservation reservation : queue) {
+                        check(reservation.getQueueNumber() > previous, "iteration is in queue-number order");
+                        previous = reservation.getQueueNumber();
+                    }
+                    Reservation head = queue.peek();
+                    if (head != null) {
+                        int position = queue.positionOf(head);
+                        check(position >= 0, "a queued head has a position");
+                    }
+                }
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+            }
+        });
+
+        writers.forEach(Thread::start);
+        reader.start();
+        start.countDown();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        writing.set(false);
+        reader.join();
+        if (failure.get() != null) {
+            throw new AssertionError("concurrent check failed", failure.get());
+        }
+
+        int expected = THREADS * PER_THREAD - removed.size();
+        check(queue.size() == expected, "size " + queue.size() + " != " + expected);
+
+        List<Integer> order = new ArrayList<>();
+        for (Reservation reservation : queue) {
+            order.add(reservation.getQueueNumber());
+        }
+        List<Integer> sorted = new ArrayList<>(order);
+        Collections.sort(sorted);
+        check(order.equals(sorted), "final order is queue-number order");
+        check(order.size() == expected, "iteration sees every entry");
+
+        for (int position = 0; position < order.size(); position++) {
+            Reservation atPosition = queue.get(position);
+            check(atPosition != null && atPosition.getQueueNumber() == order.get(position), "get(" + position + ")");
+            check(queue.positionOf(atPosition) == position, "positionOf matches get at " + position);
+            check(queue.contains(atPosition), "queued entry is contained");
+        }
+        check(queue.get(order.size()) == null, "get past the end");
+        for (int queueNumber : removed) {
+            check(queue.findByQueueNumber(queueNumber) == null, "removed Q-" + queueNumber + " is not found");
+        }
+
+        // Drain from the front: every poll returns the current minimum
+        int previous = 0;
+        for (Reservation head; (head = queue.poll()) != null; ) {
+            check(head.getQueueNumber() > previous, "poll is in queue-number order");
+            previous = head.getQueueNumber();
+        }
+        check(queue.isEmpty() && queue.get(0) == null, "drained queue is empty");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
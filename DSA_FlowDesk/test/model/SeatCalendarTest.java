@@ -0,0 +1,129 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Booking, release and availability for capacities around the 64-seat word boundary.
+ */
+public class SeatCalendarTest {
+
+    private static final int[] CAPACITIES = {0, 1, 63, 64, 65, 127, 128, 129};
+    private static final LocalDate DAY = LocalDate.of(2026, 1, 15);
+
+    public static void main(String[] args) {
+        for (int capacity : CAPACITIES) {
+            fillAndDrain(capacity);
+            setAvailable(capacity);
+            findFirstFree(capacity);
+        }
+        copyTrackKeepsBookings();
+        pruneBeforeDropsOldDays();
+        System.out.println("SeatCalendarTest passed");
+    }
+
+    private static void fillAndDrain(int capacity) {
+        SeatCalendar calendar = new SeatCalendar();
+        int track = calendar.addTrack(capacity);
+        check(calendar.available(track, DAY) == capacity, capacity + ": untouched day is free");
+
+        for (int seat = 0; seat < capacity; seat++) {
+            check(calendar.reserveFirstFree(track, DAY) == seat, capacity + ": seats are taken lowest first");
+        }
+        check(calendar.reserveFirstFree(track, DAY) == -1, capacity + ": full day has no seat past the capacity");
+        check(calendar.available(track, DAY) == 0, capacity + ": full day has none available");
+
+        for (int seat = capacity - 1; seat >= 0; seat--) {
+            check(calendar.releaseLast(track, DAY) == seat, capacity + ": seats are given back highest first");
+        }
+        check(calendar.releaseLast(track, DAY) == -1, capacity + ": padding bits are never released");
+        check(calendar.available(track, DAY) == capacity, capacity + ": drained day is free again");
+
+        if (capacity > 0) {
+            int last = capacity - 1;
+            check(calendar.reserve(track, DAY, last), capacity + ": last seat can be taken directly");
+            check(!calendar.reserve(track, DAY, last), capacity + ": last seat can't be taken twice");
+            check(calendar.isTaken(track, DAY, last), capacity + ": last seat reads as taken");
+            check(calendar.available(track, DAY) == last, capacity + ": taking the last seat leaves the rest");
+            check(calendar.release(track, DAY, last), capacity + ": last seat can be given back");
+            check(!calendar.release(track, DAY, last), capacity + ": last seat can't be given back twice");
+        }
+        expectOutOfRange(calendar, track, capacity);
+        expectOutOfRange(calendar, track, -1);
+    }
+
+    private static void setAvailable(int capacity) {
+        SeatCalendar calendar = new SeatCalendar();
+        int track = calendar.addTrack(capacity);
+        for (int available = 0; available <= capacity; available++) {
+            calendar.setAvailable(track, DAY, available);
+            check(calendar.available(track, DAY) == available, capacity + ": setAvailable(" + available + ")");
+            int taken = capacity - available;
+            check(calendar.reserveFirstFree(track, DAY) == (available == 0 ? -1 : taken),
+                capacity + ": next seat after setAvailable(" + available + ")");
+        }
+        try {
+            calendar.setAvailable(track, DAY, capacity + 1);
+            throw new AssertionError(capacity + ": more seats than the capacity were accepted");
+        } catch (IllegalArgumentException expected) {
+            // rejected
+        }
+    }
+
+    private static void findFirstFree(int capacity) {
+        SeatCalendar calendar = new SeatCalendar();
+        int track = calendar.addTrack(capacity);
+        LocalDate to = DAY.plusDays(2);
+        calendar.setAvailable(track, DAY, 0);
+        calendar.setAvailable(track, DAY.plusDays(1), 0);
+        SeatCalendar.Booking booking = calendar.findFirstFree(track, DAY, to);
+        if (capacity == 0) {
+            check(booking == null, "0: no seat on any day");
+            return;
+        }
+        check(booking != null && booking.date().equals(to) && booking.seatNumber() == 0,
+            capacity + ": first free seat is on the first day that isn't full");
+        calendar.setAvailable(track, to, 0);
+        check(calendar.findFirstFree(track, DAY, to) == null, capacity + ": every day full");
+        int[] available = calendar.availableBetween(track, DAY, to.plusDays(1));
+        check(available.length == 4 && available[2] == 0 && available[3] == capacity,
+            capacity + ": availableBetween covers untouched days");
+    }
+
+    private static void copyTrackKeepsBookings() {
+        SeatCalendar source = new SeatCalendar();
+        int track = source.addTrack(65);
+        source.setAvailable(track, DAY, 1);
+        SeatCalendar target = new SeatCalendar();
+        target.addTrack(3);
+        int copy = target.copyTrack(source, track);
+        check(copy == 1 && target.available(copy, DAY) == 1, "copied track keeps its bookings");
+        check(target.reserveFirstFree(copy, DAY) == 64, "copied track hands out its last free seat");
+        check(source.available(track, DAY) == 1, "copy doesn't share state with the source");
+    }
+
+    private static void pruneBeforeDropsOldDays() {
+        SeatCalendar calendar = new SeatCalendar();
+        int track = calendar.addTrack(64);
+        calendar.setAvailable(track, DAY.minusDays(1), 0);
+        calendar.setAvailable(track, DAY, 10);
+        calendar.pruneBefore(DAY);
+        check(calendar.bookedDates(track).equals(List.of(DAY)), "only days from the cutoff on are kept");
+        check(calendar.available(track, DAY.minusDays(1)) == 64, "a pruned day reads as free");
+    }
+
+    private static void expectOutOfRange(SeatCalendar calendar, int track, int seat) {
+        try {
+            calendar.isTaken(track, DAY, seat);
+            throw new AssertionError("seat " + seat + " was accepted");
+        } catch (IndexOutOfBoundsException expected) {
+            // rejected
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package storage;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import model.Reservation;
+import model.ReservationStore;
+
+/**
+ * Journal recovery: the log ends at the first torn or corrupt record, within
+ * a segment and across segment rolls, and appending carries on from there.
+ */
+public class JournalTest {
+
+    // Small segments, so a few dozen records roll over several of them
+    private static final int SEGMENT_BYTES = 512;
+
+    public static void main(String[] args) throws IOException {
+        replaysAcrossRolls();
+        corruptTailIsDropped();
+        tornLengthIsDropped();
+        corruptMiddleSegmentDropsLaterSegments();
+        recordFieldsRoundTrip();
+        otherSegmentVersionIsRefused();
+        undeletableSegmentIsSkippedAndRetried();
+        System.out.println("JournalTest passed");
+    }
+
+    private static void replaysAcrossRolls() throws IOException {
+        Path dir = Files.createTempDirectory("journal-rolls");
+        try (Journal journal = Journal.open(dir, SEGMENT_BYTES)) {
+            appendLogs(journal, 0, 200);
+        }
+        check(segments(dir).size() > 10, "200 records roll over many segments");
+        try (Journal journal = Journal.open(dir, SEGMENT_BYTES)) {
+            check(journal.getRecoveredRecords() == 200, "every record is recovered");
+            check(messages(journal).equals(expected(0, 200)), "replay keeps append order across segments");
+        }
+    }
+
+    private static void corruptTailIsDropped() throws IOException {
+        Path dir = Files.createTempDirectory("journal-corrupt");
+        try (Journal journal = Journal.open(dir, SEGMENT_BYTES)) {
+            appendLogs(journal, 0, 5);
+        }
+        // Flip a byte inside the last record's message: its checksum no longer matches
+        flipByteOf(lastSegment(dir), "log-0004");
+        try (Journal journal = Journal.open(dir, SEGMENT_BYTES)) {
+            check(journal.getRecoveredRecords() == 4, "the corrupt record is not recovered");
+            check(messages(journal).equals(expected(0, 4)), "replay stops before the corrupt record");
+            appendLogs(journal, 4, 6);
+        }
+        try (Journal journal = Journal.open(dir, SEGMENT_BYTES)) {
+            check(messages(journal).equals(expected(0, 6)), "appends after recovery overwrite the bad tail");
+        }
+    }
+
+    private static void tornLengthIsDropped() throws IOException {
+        Path dir = Files.createTempDirectory("journal-torn");
+        try (Journal journal = Journal.open(dir, SEGMENT_BYTES)) {
+            appendLogs(journal, 0, 3);
+        }
+        // A frame length that runs past the segment, as if the header reached disk before the body
+        Path segment = lastSegment(dir);
+        int frame = indexOf(segment, "log-0002") - 4 - 9 - 8;
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(frame);
+            file.writeInt(SEGMENT_BYTES);
+        }
+        try (Journal journal = Journal.open(dir, SEGMENT_BYTES)) {
+            check(journal.getRecoveredRecords() == 2, "the torn record is not recovered");
+            check(messages(journal).equals(expected(0, 2)), "replay stops before the torn record");
+        }
+    }
+
+    private static void corruptMiddleSegmentDropsLaterSegments() throws IOException {
+        Path dir = Files.createTempDirectory("journal-middle");
+        try (Journal journal = Journal.open(dir, SEGMENT_BYTES)) {
+            appendLogs(journal, 0, 100);
+        }
+        int before = segments(dir).size();
+        Path middle = segments(dir).get(before / 2);
+        String first = firstMessageIn(middle);
+        flipByteOf(middle, first);
+        int kept = Integer.parseInt(first.substring(4));
+        try (Journal journal = Journal.open(dir, SEGMENT_BYTES)) {
+            check(journal.getRecoveredRecords() == kept, "recovery stops in the corrupt segment");
+            check(segments(dir).size() == before / 2 + 1, "segments after the corrupt one are deleted");
+            check(messages(journal).equals(expected(0, kept)), "replay ends before the corrupt record");
+            appendLogs(journal, kept, kept + 50);
+        }
+        try (Journal journal = Journal.open(dir, SEGMENT_BYTES)) {
+            check(messages(journal).equals(expected(0, kept + 50)), "appending continues from the recovered end");
+        }
+    }
+
+    private static void recordFieldsRoundTrip() throws IOException {
+        Path dir = Files.createTempDirectory("journal-fields");
+        ReservationStore store = new ReservationStore();
+        Reservation reservation = store.create("Ñoël Cruz", "09171234567", 23, "B-202", "09:00 - 11:00", 42);
+        LocalDate day = LocalDate.of(2026, 3, 1);
+        try (Journal journal = Journal.open(dir, SEGMENT_BYTES)) {
+            journal.appendEnqueue(1L, reservation, day);
+            journal.appendEnqueue(2L, reservation, null);
+            journal.appendQueueEvent(JournalRecord.Type.APPROVE, 3L, 42);
+            journal.appendSeatReserve(4L, "C-301", "15:00 - 17:00", day.plusDays(1));
+        }
+        List<String> records = new ArrayList<>();
+        try (Journal journal = Journal.open(dir, SEGMENT_BYTES)) {
+            journal.replay(record -> {
+                switch (record.type()) {
+                    case ENQUEUE -> records.add(record.timestamp() + " " + record.queueNumber() + " " + record.age() + " "
+                        + record.name() + " " + record.contactNumber() + " " + record.room() + " " + record.timeSlot()
+                        + (record.hasFlag(JournalRecord.SEAT_RESERVED) ? " seat " + record.seatDate() : ""));
+                    case APPROVE -> records.add(record.timestamp() + " approve " + record.queueNumber());
+                    case SEAT_RESERVE -> records.add(record.timestamp() + " " + record.room() + " " + record.timeSlot()
+                        + " " + record.seatDate());
+                    default -> records.add("unexpected " + record);
+                }
+            });
+        }
+        check(records.equals(List.of(
+            "1 42 23 Ñoël Cruz 09171234567 B-202 09:00 - 11:00 seat 2026-03-01",
+            "2 42 23 Ñoël Cruz 09171234567 B-202 09:00 - 11:00",
+            "3 approve 42",
+            "4 C-301 15:00 - 17:00 2026-03-02")), "record fields round-trip: " + records);
+    }
+
+    private static void otherSegmentVersionIsRefused() throws IOException {
+        Path dir = Files.createTempDirectory("journal-version");
+        try (Journal journal = Journal.open(dir, SEGMENT_BYTES)) {
+            appendLogs(journal, 0, 3);
+        }
+        Path segment = lastSegment(dir);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(4);
+            file.writeInt(1);
+        }
+        byte[] before = Files.readAllBytes(segment);
+        try {
+            Journal.open(dir, SEGMENT_BYTES).close();
+            throw new AssertionError("a segment in another layout was opened");
+        } catch (IOException expected) {
+            // refused
+        }
+        check(Arrays.equals(before, Files.readAllBytes(segment)), "a refused segment is left untouched");
+    }
+
+    private static void undeletableSegmentIsSkippedAndRetried() throws IOException {
+        Path dir = Files.createTempDirectory("journal-undeletable");
+        int cut;
+        try (Journal journal = Journal.open(dir, SEGMENT_BYTES)) {
+            appendLogs(journal, 0, 3);
+            cut = journal.checkpoint();
+            appendLogs(journal, 3, 5);
+        }
+        // Stand-in for a segment Windows won't delete while it is mapped: a non-empty directory
+        Path stale = segments(dir).get(0);
+        Files.delete(stale);
+        Files.createDirectories(stale.resolve("held"));
+        try (Journal journal = Journal.open(dir, SEGMENT_BYTES, cut)) {
+            check(Files.exists(stale), "the undeletable segment is still there");
+            check(messages(journal).equals(expected(3, 5)), "replay skips a redundant segment it could not delete");
+            Files.delete(stale.resolve("held"));
+            journal.deleteSegmentsBefore(cut);
+            check(!Files.exists(stale), "the delete is retried on the next call");
+        }
+    }
+
+    private static void appendLogs(Journal journal, int from, int to) {
+        for (int i = from; i < to; i++) {
+            journal.appendLog(i, message(i));
+        }
+    }
+
+    private static List<String> messages(Journal journal) throws IOException {
+        List<String> messages = new ArrayList<>();
+        journal.replay(record -> messages.add(record.message()));
+        return messages;
+    }
+
+    private static List<String> expected(int from, int to) {
+        List<String> messages = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            messages.add(message(i));
+        }
+        return messages;
+    }
+
+    private static String message(int i) {
+        return String.format("log-%04d", i);
+    }
+
+    private static List<Path> segments(Path dir) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "journal-*.seg")) {
+            stream.forEach(segments::add);
+        }
+        segments.sort(Comparator.comparingInt(path -> {
+            String name = path.getFileName().toString();
+            return Integer.parseInt(name.substring("journal-".length(), name.length() - ".seg".length()));
+        }));
+        return segments;
+    }
+
+    private static Path lastSegment(Path dir) throws IOException {
+        List<Path> segments = segments(dir);
+        return segments.get(segments.size() - 1);
+    }
+
+    private static String firstMessageIn(Path segment) throws IOException {
+        String text = new String(Files.readAllBytes(segment), StandardCharsets.ISO_8859_1);
+        int at = text.indexOf("log-");
+        return text.substring(at, at + 8);
+    }
+
+    private static int indexOf(Path segment, String message) throws IOException {
+        int at = new String(Files.readAllBytes(segment), StandardCharsets.ISO_8859_1).indexOf(message);
+        check(at >= 0, message + " is in " + segment);
+        return at;
+    }
+
+    private static void flipByteOf(Path segment, String message) throws IOException {
+        int at = indexOf(segment, message) + message.length() - 1;
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(at);
+            int value = file.read();
+            file.seek(at);
+            file.write(value ^ 0x40);
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}